@@ -0,0 +1,144 @@
+package com.kruger.kevaluacion.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Genera bases H2 en memoria con el esquema real (migraciones de db/migration/h2)
+ * y volúmenes de datos configurables para los benchmarks.
+ */
+public final class BenchmarkDataGenerator {
+
+    /** Primer día de las reservas generadas (lunes). */
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] EQUIPMENT = {
+            "Proyector", "TV 55\"", "Pizarra digital", "Sistema de videoconferencia", "Mesa de conferencias"
+    };
+
+    private BenchmarkDataGenerator() {
+    }
+
+    public static DataSource createDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        return dataSource;
+    }
+
+    public static void insertUsers(DataSource dataSource, int count) throws SQLException {
+        batchInsert(dataSource, "INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?)", count,
+                (ps, i) -> {
+                    ps.setString(1, "bench-user-" + i);
+                    ps.setString(2, "bench-user-" + i + "@example.com");
+                    ps.setString(3, "x");
+                    ps.setString(4, i == 0 ? "ADMIN" : "USER");
+                });
+    }
+
+    public static void insertRooms(DataSource dataSource, int count, long seed) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        batchInsert(dataSource, "INSERT INTO rooms (name, capacity, location, equipment, active, created_at, created_by) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, 1)", count,
+                (ps, i) -> {
+                    ps.setString(1, "Sala " + i);
+                    ps.setInt(2, 2 + random.nextInt(30));
+                    ps.setString(3, "Piso " + (1 + random.nextInt(12)));
+                    ps.setString(4, EQUIPMENT[random.nextInt(EQUIPMENT.length)]);
+                    ps.setBoolean(5, random.nextInt(20) != 0);
+                    ps.setTimestamp(6, Timestamp.valueOf(EPOCH));
+                });
+    }
+
+    /**
+     * Reservas de una hora en horario laboral, repartidas en {@code days} días a partir de EPOCH.
+     * Aproximadamente el 80 % queda ACTIVE, el resto CANCELLED o COMPLETED.
+     */
+    public static void insertReservations(DataSource dataSource, int count, int rooms, int users, int days, long seed)
+            throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        batchInsert(dataSource, "INSERT INTO reservations (start_time, end_time, purpose, status, created_at, room_id, user_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", count,
+                (ps, i) -> {
+                    LocalDateTime start = EPOCH
+                            .plusDays(random.nextInt(days))
+                            .plusHours(8 + random.nextInt(9))
+                            .plusMinutes(30L * random.nextInt(2));
+                    int roll = random.nextInt(10);
+                    ps.setTimestamp(1, Timestamp.valueOf(start));
+                    ps.setTimestamp(2, Timestamp.valueOf(start.plusHours(1)));
+                    ps.setString(3, "benchmark");
+                    ps.setString(4, roll < 8 ? "ACTIVE" : roll == 8 ? "CANCELLED" : "COMPLETED");
+                    ps.setTimestamp(5, Timestamp.valueOf(EPOCH));
+                    ps.setLong(6, 1 + random.nextInt(rooms));
+                    ps.setLong(7, 1 + random.nextInt(users));
+                });
+    }
+
+    /**
+     * Historial cerrado (COMPLETED/CANCELLED) de una hora, repartido en los {@code days} días anteriores a EPOCH.
+     * Con {@code archived} se escribe en reservations_archive, como lo dejaría ReservationArchiveJob.
+     */
+    public static void insertHistory(DataSource dataSource, boolean archived, int count, int rooms, int users,
+                                     int days, long seed) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        String sql = archived
+                ? "INSERT INTO reservations_archive (start_time, end_time, purpose, status, created_at, room_id, user_id, " +
+                  "id, archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                : "INSERT INTO reservations (start_time, end_time, purpose, status, created_at, room_id, user_id) " +
+                  "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        batchInsert(dataSource, sql, count,
+                (ps, i) -> {
+                    LocalDateTime start = EPOCH
+                            .minusDays(1 + random.nextInt(days))
+                            .plusHours(8 + random.nextInt(9));
+                    ps.setTimestamp(1, Timestamp.valueOf(start));
+                    ps.setTimestamp(2, Timestamp.valueOf(start.plusHours(1)));
+                    ps.setString(3, "history");
+                    ps.setString(4, random.nextInt(5) == 0 ? "CANCELLED" : "COMPLETED");
+                    ps.setTimestamp(5, Timestamp.valueOf(start.minusDays(7)));
+                    ps.setLong(6, 1 + random.nextInt(rooms));
+                    ps.setLong(7, 1 + random.nextInt(users));
+                    if (archived) {
+                        // Ids negativos: no chocan con los de la tabla caliente
+                        ps.setLong(8, -1L - i);
+                        ps.setTimestamp(9, Timestamp.valueOf(EPOCH));
+                    }
+                });
+    }
+
+    private static void batchInsert(DataSource dataSource, String sql, int count, RowWriter writer) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                writer.write(ps, i);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kruger.kevaluacion.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de la verificación de conflictos a medida que crece el historial: sala ocupada
+ * (existsConflictingReservation) y reservas del usuario en el período (findUserActiveReservationsInPeriod).
+ * El conjunto caliente es fijo (20k reservas futuras); el historial cerrado queda en la misma tabla
+ * (layout=single) o en reservations_archive (layout=archived, como tras ReservationArchiveJob).
+ * 50M filas: -Djmh.include="ConflictCheckScalingBenchmark -p historyRows=50000000" y un heap acorde (-Xmx).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConflictCheckScalingBenchmark {
+
+    private static final int ROOMS = 200;
+    private static final int USERS = 1_000;
+    private static final int HOT_RESERVATIONS = 20_000;
+    private static final int HOT_DAYS = 90;
+    private static final int HISTORY_DAYS = 5 * 365;
+
+    private static final String EXISTS_CONFLICT = "SELECT COUNT(*) > 0 FROM reservations r WHERE r.room_id = ? " +
+            "AND r.status = 'ACTIVE' AND r.start_time <= ? AND r.end_time > ?";
+
+    private static final String USER_OVERLAP = "SELECT r.id FROM reservations r WHERE r.user_id = ? " +
+            "AND r.status = 'ACTIVE' AND r.start_time <= ? AND r.end_time > ?";
+
+    @Param({"100000", "1000000"})
+    private int historyRows;
+
+    @Param({"single", "archived"})
+    private String layout;
+
+    private Connection connection;
+    private PreparedStatement existsConflict;
+    private PreparedStatement userOverlap;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        DataSource dataSource = BenchmarkDataGenerator.createDatabase("conflict_" + layout + "_" + historyRows);
+        BenchmarkDataGenerator.insertUsers(dataSource, USERS);
+        BenchmarkDataGenerator.insertRooms(dataSource, ROOMS, 42);
+        BenchmarkDataGenerator.insertHistory(dataSource, "archived".equals(layout), historyRows, ROOMS, USERS,
+                HISTORY_DAYS, 42);
+        BenchmarkDataGenerator.insertReservations(dataSource, HOT_RESERVATIONS, ROOMS, USERS, HOT_DAYS, 42);
+
+        connection = dataSource.getConnection();
+        existsConflict = connection.prepareStatement(EXISTS_CONFLICT);
+        userOverlap = connection.prepareStatement(USER_OVERLAP);
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean existsConflictingReservation() throws SQLException {
+        bindWindow(existsConflict, 1 + random.nextInt(ROOMS));
+        try (ResultSet rs = existsConflict.executeQuery()) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    @Benchmark
+    public boolean userActiveReservationsInPeriod() throws SQLException {
+        bindWindow(userOverlap, 1 + random.nextInt(USERS));
+        try (ResultSet rs = userOverlap.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    // Ventana de una hora en un día y hora laboral aleatorios del conjunto caliente
+    private void bindWindow(PreparedStatement ps, long ownerId) throws SQLException {
+        LocalDateTime start = BenchmarkDataGenerator.EPOCH
+                .plusDays(random.nextInt(HOT_DAYS))
+                .plusHours(8 + random.nextInt(9));
+        ps.setLong(1, ownerId);
+        ps.setTimestamp(2, Timestamp.valueOf(start.plusHours(1)));
+        ps.setTimestamp(3, Timestamp.valueOf(start));
+    }
+}
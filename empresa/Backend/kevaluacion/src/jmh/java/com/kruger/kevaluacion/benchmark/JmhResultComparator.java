@@ -0,0 +1,80 @@
+package com.kruger.kevaluacion.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dos resultados JSON de JMH (por ejemplo, de dos commits) y falla si algún benchmark
+ * empeora más que el umbral. Todos los benchmarks usan Mode.AverageTime: más alto es peor.
+ * Uso: JmhResultComparator baseline.json actual.json [umbral, 0.10 = 10 %]
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: JmhResultComparator <baseline.json> <actual.json> [umbral]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "actual", "cambio");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            double score = metric.get("score").asDouble();
+            String unit = metric.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "nuevo", unit);
+                continue;
+            }
+
+            double previous = before.get("primaryMetric").get("score").asDouble();
+            double change = previous == 0 ? 0 : (score - previous) / previous;
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), previous, score,
+                    change * 100, unit, regression ? "  REGRESIÓN" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) empeoraron más de %.0f %%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    // Clave: nombre del benchmark más sus @Param, para comparar la misma combinación
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    sorted.put(field.getKey(), field.getValue().asText());
+                }
+                sorted.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
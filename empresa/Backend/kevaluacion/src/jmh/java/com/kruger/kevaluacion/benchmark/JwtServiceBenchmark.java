@@ -0,0 +1,71 @@
+package com.kruger.kevaluacion.benchmark;
+
+import com.kruger.kevaluacion.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición de validar un JWT.
+ * legacyTripleParse reproduce el camino anterior (clave y parser reconstruidos,
+ * token parseado tres veces); singleParse y cachedValidation usan JwtService actual.
+ * Las métricas van a un registro sin destinos (no-op); su costo se mide en MetricsOverheadBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTAuthentication2024!@#$%^&*()";
+    private static final long EXPIRATION_MILLIS = 3_600_000;
+
+    private JwtService uncachedService;
+    private JwtService cachedService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncachedService = new JwtService(SECRET, EXPIRATION_MILLIS, EXPIRATION_MILLIS, 0, new CompositeMeterRegistry());
+        cachedService = new JwtService(SECRET, EXPIRATION_MILLIS, EXPIRATION_MILLIS, 1024, new CompositeMeterRegistry());
+        token = cachedService.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Optional<Claims> singleParse() {
+        return uncachedService.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedValidation() {
+        return cachedService.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken("benchmark-user");
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,81 @@
+package com.kruger.kevaluacion.benchmark;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.mapper.ReservationMapper;
+import com.kruger.kevaluacion.mapper.ReservationMapperImpl;
+import com.kruger.kevaluacion.mapper.RoomMapper;
+import com.kruger.kevaluacion.mapper.RoomMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad -> DTO de listados grandes, como en GET /reservations/all y GET /rooms.
+ * Usa las implementaciones generadas por MapStruct sin contexto de Spring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final ReservationMapper reservationMapper = new ReservationMapperImpl();
+    private final RoomMapper roomMapper = new RoomMapperImpl();
+
+    private List<Reservation> reservations;
+    private List<Room> rooms;
+
+    @Setup
+    public void setup() {
+        User admin = User.builder().id(1L).username("admin").email("admin@example.com").role(Role.ADMIN).build();
+        List<User> users = new ArrayList<>();
+        for (long i = 1; i <= 1_000; i++) {
+            users.add(User.builder().id(i).username("bench-user-" + i).email("bench-user-" + i + "@example.com")
+                    .role(Role.USER).build());
+        }
+
+        rooms = new ArrayList<>();
+        for (long i = 1; i <= Math.min(size, 1_000); i++) {
+            rooms.add(Room.builder().id(i).name("Sala " + i).description("Sala de benchmark").capacity(10)
+                    .location("Piso " + (i % 12)).equipment("Proyector").active(true)
+                    .createdAt(BenchmarkDataGenerator.EPOCH).createdBy(admin).build());
+        }
+
+        reservations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            reservations.add(Reservation.builder()
+                    .id((long) i)
+                    .startTime(BenchmarkDataGenerator.EPOCH.plusDays(i % 365).plusHours(8 + i % 9))
+                    .endTime(BenchmarkDataGenerator.EPOCH.plusDays(i % 365).plusHours(9 + i % 9))
+                    .purpose("benchmark")
+                    .status(ReservationStatus.ACTIVE)
+                    .createdAt(BenchmarkDataGenerator.EPOCH)
+                    .room(rooms.get(i % rooms.size()))
+                    .user(users.get(i % users.size()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<ReservationResponseDTO> reservationsToDTO() {
+        return reservations.stream().map(reservationMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<RoomResponseDTO> roomsToDTO() {
+        return rooms.stream().map(roomMapper::toDTO).toList();
+    }
+}
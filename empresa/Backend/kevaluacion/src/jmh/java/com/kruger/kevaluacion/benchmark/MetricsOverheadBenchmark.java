@@ -0,0 +1,81 @@
+package com.kruger.kevaluacion.benchmark;
+
+import com.kruger.kevaluacion.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la instrumentación en los caminos más cortos, donde pesa más:
+ * la validación de un JWT ya cacheado (timers propios de JwtService) y una llamada
+ * a un servicio con @Timed a través de TimedAspect, frente a la misma llamada sin proxy.
+ * registry=noop usa un registro sin destinos; prometheus, el registro real con histogramas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MetricsOverheadBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTAuthentication2024!@#$%^&*()";
+
+    @Param({"noop", "prometheus"})
+    private String registry;
+
+    private JwtService jwtService;
+    private String token;
+    private TimedTarget plainTarget;
+    private TimedTarget timedTarget;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+
+        jwtService = new JwtService(SECRET, 3_600_000, 86_400_000, 1024, meterRegistry);
+        token = jwtService.generateToken("benchmark-user");
+
+        plainTarget = new TimedTarget();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TimedTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(meterRegistry));
+        timedTarget = factory.getProxy();
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedJwtValidation() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public long serviceCallWithoutAspect() {
+        return plainTarget.work(counter++);
+    }
+
+    @Benchmark
+    public long serviceCallWithTimedAspect() {
+        return timedTarget.work(counter++);
+    }
+
+    // Equivalente a un método de servicio anotado como ReservationServiceImpl
+    @Timed(value = "app.service", histogram = true)
+    public static class TimedTarget {
+
+        public long work(long value) {
+            return Long.rotateLeft(value * 0x9E3779B97F4A7C15L, 17);
+        }
+    }
+}
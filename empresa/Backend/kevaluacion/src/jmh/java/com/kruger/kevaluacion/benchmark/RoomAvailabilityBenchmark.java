@@ -0,0 +1,110 @@
+package com.kruger.kevaluacion.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de salas disponibles con 1k salas y 1M reservas sobre H2.
+ * Compara el NOT IN anterior con el anti-join NOT EXISTS de RoomRepository,
+ * sin filtros y con filtro de capacidad + paginación (como /rooms/search).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RoomAvailabilityBenchmark {
+
+    private static final int DAYS = 365;
+
+    private static final String NOT_IN = "SELECT r.id FROM rooms r WHERE r.active = TRUE AND r.id NOT IN " +
+            "(SELECT res.room_id FROM reservations res WHERE res.status = 'ACTIVE' " +
+            "AND res.start_time <= ? AND res.end_time > ?)";
+
+    private static final String NOT_EXISTS = "SELECT r.id FROM rooms r WHERE r.active = TRUE AND NOT EXISTS " +
+            "(SELECT 1 FROM reservations res WHERE res.room_id = r.id AND res.status = 'ACTIVE' " +
+            "AND res.start_time <= ? AND res.end_time > ?)";
+
+    private static final String NOT_EXISTS_FILTERED_PAGE = "SELECT r.id FROM rooms r WHERE r.active = TRUE " +
+            "AND r.capacity >= ? AND NOT EXISTS " +
+            "(SELECT 1 FROM reservations res WHERE res.room_id = r.id AND res.status = 'ACTIVE' " +
+            "AND res.start_time <= ? AND res.end_time > ?) ORDER BY r.name LIMIT 20";
+
+    @Param("1000")
+    private int rooms;
+
+    @Param("1000000")
+    private int reservations;
+
+    private Connection connection;
+    private PreparedStatement notIn;
+    private PreparedStatement notExists;
+    private PreparedStatement notExistsFilteredPage;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        DataSource dataSource = BenchmarkDataGenerator.createDatabase("availability_" + rooms + "_" + reservations);
+        BenchmarkDataGenerator.insertUsers(dataSource, 1_000);
+        BenchmarkDataGenerator.insertRooms(dataSource, rooms, 42);
+        BenchmarkDataGenerator.insertReservations(dataSource, reservations, rooms, 1_000, DAYS, 42);
+
+        connection = dataSource.getConnection();
+        notIn = connection.prepareStatement(NOT_IN);
+        notExists = connection.prepareStatement(NOT_EXISTS);
+        notExistsFilteredPage = connection.prepareStatement(NOT_EXISTS_FILTERED_PAGE);
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void notIn(Blackhole blackhole) throws SQLException {
+        bindWindow(notIn, 1);
+        drain(notIn, blackhole);
+    }
+
+    @Benchmark
+    public void notExists(Blackhole blackhole) throws SQLException {
+        bindWindow(notExists, 1);
+        drain(notExists, blackhole);
+    }
+
+    @Benchmark
+    public void notExistsWithCapacityFilterAndPage(Blackhole blackhole) throws SQLException {
+        notExistsFilteredPage.setInt(1, 10);
+        bindWindow(notExistsFilteredPage, 2);
+        drain(notExistsFilteredPage, blackhole);
+    }
+
+    // Ventana de una hora en un día y hora laboral aleatorios
+    private void bindWindow(PreparedStatement ps, int firstIndex) throws SQLException {
+        LocalDateTime start = BenchmarkDataGenerator.EPOCH
+                .plusDays(random.nextInt(DAYS))
+                .plusHours(8 + random.nextInt(9));
+        ps.setTimestamp(firstIndex, Timestamp.valueOf(start.plusHours(1)));
+        ps.setTimestamp(firstIndex + 1, Timestamp.valueOf(start));
+    }
+
+    private static void drain(PreparedStatement ps, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+            }
+        }
+    }
+}
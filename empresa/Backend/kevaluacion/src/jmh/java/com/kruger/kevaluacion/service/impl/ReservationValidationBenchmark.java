@@ -0,0 +1,65 @@
+package com.kruger.kevaluacion.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validaciones en memoria de ReservationServiceImpl: horario (validateReservationTime), incluido
+ * el camino que rechaza con excepción, y conflicto contra los intervalos ocupados de una sala
+ * (como en createBatch y createSeries). Está en este paquete porque ambas son package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReservationValidationBenchmark {
+
+    @Param({"10", "1000"})
+    private int busySlots;
+
+    private LocalDateTime validStart;
+    private LocalDateTime validEnd;
+    private LocalDateTime nightStart;
+    private List<TimeSlot> busy;
+
+    @Setup
+    public void setup() {
+        LocalDateTime day = LocalDateTime.now().plusDays(7).toLocalDate().atStartOfDay();
+        validStart = day.plusHours(10);
+        validEnd = day.plusHours(11);
+        nightStart = day.plusHours(21);
+
+        // Un intervalo de una hora por día hábil, sin cruzarse con la franja consultada
+        busy = new ArrayList<>(busySlots);
+        for (int i = 0; i < busySlots; i++) {
+            LocalDateTime start = day.plusDays(1 + i).plusHours(8 + i % 9);
+            busy.add(new TimeSlot(start, start.plusHours(1)));
+        }
+    }
+
+    @Benchmark
+    public void validateReservationTime() {
+        ReservationServiceImpl.validateReservationTime(validStart, validEnd);
+    }
+
+    @Benchmark
+    public boolean validateReservationTimeRejected() {
+        try {
+            ReservationServiceImpl.validateReservationTime(nightStart, nightStart.plusHours(1));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean inMemoryConflictCheck() {
+        return TimeSlot.anyConflict(busy, validStart, validEnd);
+    }
+}
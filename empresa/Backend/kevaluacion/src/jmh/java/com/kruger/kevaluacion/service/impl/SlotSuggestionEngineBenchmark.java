@@ -0,0 +1,84 @@
+package com.kruger.kevaluacion.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sugerencia de franjas libres (POST /reservations/suggestions) con 500 salas y una ventana de dos semanas,
+ * sin base de datos: solo el k-way merge de SlotSuggestionEngine. Objetivo: menos de 10 ms por consulta
+ * incluso con limit=50 y salas casi llenas. occupancy es la fracción de horas laborables ocupadas por sala.
+ * Está en este paquete porque el motor es package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SlotSuggestionEngineBenchmark {
+
+    private static final int ROOMS = 500;
+    private static final int DAYS = 14;
+    // Lunes
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 7, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(DAYS);
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+    private static final Duration TWO_HOURS = Duration.ofHours(2);
+
+    @Param({"0.5", "0.95"})
+    private double occupancy;
+
+    private List<SlotSuggestionEngine.RoomBusy> rooms;
+    private List<TimeSlot> userBusy;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        rooms = new ArrayList<>(ROOMS);
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            rooms.add(new SlotSuggestionEngine.RoomBusy(roomId, busyHours(random, occupancy)));
+        }
+        // El usuario tiene reunión las dos primeras horas de cada día
+        userBusy = new ArrayList<>(DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            LocalDateTime opening = FROM.plusDays(day).plusHours(BusinessHours.OPENING_HOUR);
+            userBusy.add(new TimeSlot(opening, opening.plus(TWO_HOURS)));
+        }
+    }
+
+    @Benchmark
+    public List<SlotSuggestionEngine.Suggestion> defaultLimit() {
+        return SlotSuggestionEngine.suggest(rooms, userBusy, ONE_HOUR, FROM, TO, 5);
+    }
+
+    @Benchmark
+    public List<SlotSuggestionEngine.Suggestion> maxLimit() {
+        return SlotSuggestionEngine.suggest(rooms, userBusy, ONE_HOUR, FROM, TO, 50);
+    }
+
+    // Franjas largas: casi ninguna sala tiene dos horas libres seguidas, los cursores recorren más intervalos
+    @Benchmark
+    public List<SlotSuggestionEngine.Suggestion> longMeetingMaxLimit() {
+        return SlotSuggestionEngine.suggest(rooms, userBusy, TWO_HOURS, FROM, TO, 50);
+    }
+
+    // Reservas de una hora en horario laboral, ordenadas por inicio
+    private static List<TimeSlot> busyHours(SplittableRandom random, double occupancy) {
+        List<TimeSlot> busy = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = BusinessHours.OPENING_HOUR; hour < BusinessHours.CLOSING_HOUR; hour++) {
+                if (random.nextDouble() < occupancy) {
+                    LocalDateTime start = FROM.plusDays(day).plusHours(hour);
+                    busy.add(new TimeSlot(start, start.plusHours(1)));
+                }
+            }
+        }
+        return busy;
+    }
+}
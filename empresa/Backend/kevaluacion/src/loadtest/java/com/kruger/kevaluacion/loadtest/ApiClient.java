@@ -0,0 +1,141 @@
+package com.kruger.kevaluacion.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente de la API real (contexto /api) que mide cada petición en el EndpointStats de su operación.
+ */
+public final class ApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public ApiClient(String baseUrl, int clients) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, clients / 4)))
+                .build();
+    }
+
+    public Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    /** Devuelve el token o null si el login falla. */
+    public String login(String username, String password) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = send("POST /auth/login", post("/auth/login", null, body));
+        return response != null && response.statusCode() == 200 ? field(response.body(), "token") : null;
+    }
+
+    public void listRooms(String token) {
+        send("GET /rooms", get("/rooms", token));
+    }
+
+    /** Ids de las salas activas, para elegir dónde reservar. */
+    public List<Long> roomIds(String token) {
+        HttpResponse<String> response = send("GET /rooms", get("/rooms", token));
+        List<Long> ids = new ArrayList<>();
+        if (response != null && response.statusCode() == 200) {
+            try {
+                MAPPER.readTree(response.body()).forEach(room -> ids.add(room.get("id").asLong()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Respuesta inesperada de GET /rooms", e);
+            }
+        }
+        return ids;
+    }
+
+    public void searchAvailable(String token, LocalDateTime start, LocalDateTime end, int minCapacity) {
+        send("GET /rooms/search", get("/rooms/search?startTime=" + start + "&endTime=" + end
+                + "&minCapacity=" + minCapacity, token));
+    }
+
+    public void myReservations(String token) {
+        send("GET /reservations/page", get("/reservations/page?size=20", token));
+    }
+
+    /** Devuelve el id de la reserva creada o null si fue rechazada. */
+    public Long createReservation(String token, long roomId, LocalDateTime start, LocalDateTime end) {
+        String body = "{\"startTime\":\"" + start + "\",\"endTime\":\"" + end + "\",\"roomId\":" + roomId
+                + ",\"purpose\":\"loadtest\"}";
+        HttpResponse<String> response = send("POST /reservations", post("/reservations", token, body));
+        if (response == null || response.statusCode() != 201) {
+            return null;
+        }
+        String id = field(response.body(), "id");
+        return id != null ? Long.valueOf(id) : null;
+    }
+
+    public void cancelReservation(String token, long reservationId) {
+        send("DELETE /reservations/{id}", HttpRequest.newBuilder(uri("/reservations/" + reservationId))
+                .header("Authorization", "Bearer " + token)
+                .DELETE()
+                .build());
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - start, -1);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String field(String json, String name) {
+        try {
+            JsonNode value = MAPPER.readTree(json).get(name);
+            return value != null ? value.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
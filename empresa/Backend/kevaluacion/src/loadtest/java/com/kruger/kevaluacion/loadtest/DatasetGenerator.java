@@ -0,0 +1,152 @@
+package com.kruger.kevaluacion.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Genera por JDBC el volumen que DataInitializer no crea: miles de usuarios y salas y millones de reservas.
+ * El 80 % de las reservas es historial cerrado (dos años hacia atrás); el resto son reservas activas
+ * dentro del horizonte del workload, en franjas distintas para no crear conflictos imposibles.
+ */
+public final class DatasetGenerator {
+
+    /** Contraseña de todos los usuarios generados (lt-user-N). */
+    public static final String PASSWORD = "loadtest123";
+    public static final String USERNAME_PREFIX = "lt-user-";
+
+    /** Primera hora de reserva y número de franjas de una hora por día (8:00 a 17:00). */
+    static final int FIRST_HOUR = 8;
+    static final int SLOTS_PER_DAY = 9;
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int HISTORY_DAYS = 730;
+    private static final String[] EQUIPMENT = {
+            "Proyector", "TV 55\"", "Pizarra digital", "Sistema de videoconferencia", "Mesa de conferencias"
+    };
+
+    private DatasetGenerator() {
+    }
+
+    public static void generate(DataSource dataSource, LoadTestOptions options, LocalDate firstDay) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.randomSeed());
+        // BCrypt una sola vez: todos los usuarios comparten el hash
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        long firstUserId = nextId(dataSource, "users");
+        batchInsert(dataSource, "INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, 'USER')",
+                options.seedUsers(), (ps, i) -> {
+                    ps.setString(1, USERNAME_PREFIX + i);
+                    ps.setString(2, USERNAME_PREFIX + i + "@loadtest.local");
+                    ps.setString(3, passwordHash);
+                });
+
+        long firstRoomId = nextId(dataSource, "rooms");
+        batchInsert(dataSource, "INSERT INTO rooms (name, description, capacity, location, equipment, active, " +
+                        "created_at, created_by) VALUES (?, 'Sala generada', ?, ?, ?, TRUE, ?, ?)",
+                options.seedRooms(), (ps, i) -> {
+                    ps.setString(1, "LT Sala " + i);
+                    ps.setInt(2, 2 + random.nextInt(30));
+                    ps.setString(3, "Piso " + (1 + random.nextInt(20)));
+                    ps.setString(4, EQUIPMENT[random.nextInt(EQUIPMENT.length)]);
+                    ps.setTimestamp(5, Timestamp.valueOf(firstDay.minusDays(HISTORY_DAYS).atStartOfDay()));
+                    ps.setLong(6, firstUserId);
+                });
+
+        long totalSlots = (long) options.seedRooms() * options.horizonDays() * SLOTS_PER_DAY;
+        int active = (int) Math.min(options.seedReservations() / 5, totalSlots);
+        int history = options.seedReservations() - active;
+        long firstReservationId = nextId(dataSource, "reservations");
+
+        batchInsert(dataSource, "INSERT INTO reservations (id, start_time, end_time, purpose, status, created_at, " +
+                        "room_id, user_id) VALUES (?, ?, ?, 'historial', ?, ?, ?, ?)",
+                history, (ps, i) -> {
+                    LocalDateTime start = firstDay.minusDays(1 + random.nextInt(HISTORY_DAYS))
+                            .atTime(FIRST_HOUR + random.nextInt(SLOTS_PER_DAY), 0);
+                    ps.setLong(1, firstReservationId + i);
+                    ps.setTimestamp(2, Timestamp.valueOf(start));
+                    ps.setTimestamp(3, Timestamp.valueOf(start.plusHours(1)));
+                    ps.setString(4, random.nextInt(5) == 0 ? "CANCELLED" : "COMPLETED");
+                    ps.setTimestamp(5, Timestamp.valueOf(start.minusDays(7)));
+                    ps.setLong(6, firstRoomId + random.nextInt(options.seedRooms()));
+                    ps.setLong(7, firstUserId + random.nextInt(options.seedUsers()));
+                });
+
+        // Recorre las franjas (sala, día, hora) del horizonte con un paso coprimo: nunca repite franja
+        long stride = coprimeStride(totalSlots);
+        batchInsert(dataSource, "INSERT INTO reservations (id, start_time, end_time, purpose, status, created_at, " +
+                        "room_id, user_id) VALUES (?, ?, ?, 'seed', 'ACTIVE', ?, ?, ?)",
+                active, (ps, i) -> {
+                    long slot = (i * stride) % totalSlots;
+                    long room = slot % options.seedRooms();
+                    long daySlot = slot / options.seedRooms();
+                    LocalDateTime start = firstDay.plusDays(daySlot / SLOTS_PER_DAY)
+                            .atTime(FIRST_HOUR + (int) (daySlot % SLOTS_PER_DAY), 0);
+                    ps.setLong(1, firstReservationId + history + i);
+                    ps.setTimestamp(2, Timestamp.valueOf(start));
+                    ps.setTimestamp(3, Timestamp.valueOf(start.plusHours(1)));
+                    ps.setTimestamp(4, Timestamp.valueOf(firstDay.atStartOfDay()));
+                    ps.setLong(5, firstRoomId + room);
+                    ps.setLong(6, firstUserId + random.nextInt(options.seedUsers()));
+                });
+
+        // Los ids explícitos quedan por debajo de lo que asigne la secuencia pooled de Hibernate (allocationSize 50)
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE reservations_seq RESTART WITH "
+                    + (firstReservationId + options.seedReservations() + 100));
+        }
+    }
+
+    private static long nextId(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long coprimeStride(long total) {
+        long stride = 1_000_003;
+        while (gcd(stride, total) != 1) {
+            stride += 2;
+        }
+        return stride % total == 0 ? 1 : stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static void batchInsert(DataSource dataSource, String sql, int count, RowWriter writer) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                writer.write(ps, i);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int index) throws SQLException;
+    }
+}
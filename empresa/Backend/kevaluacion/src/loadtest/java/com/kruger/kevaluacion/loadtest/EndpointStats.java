@@ -0,0 +1,69 @@
+package com.kruger.kevaluacion.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (HdrHistogram, en microsegundos) y resultados de un endpoint.
+ * Los 4xx esperados (colisiones de reserva) se cuentan aparte de los errores.
+ */
+public final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param status código HTTP, o -1 si la petición falló sin respuesta
+     */
+    public void record(long elapsedNanos, int status) {
+        latency.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (status >= 200 && status < 400) {
+            ok.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        latency.reset();
+        ok.reset();
+        rejected.reset();
+        errors.reset();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Summary summarize(double seconds) {
+        long count = latency.getTotalCount();
+        return new Summary(name, count, ok.sum(), rejected.sum(), errors.sum(),
+                seconds > 0 ? count / seconds : 0,
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public record Summary(String endpoint, long requests, long ok, long rejected, long errors, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+}
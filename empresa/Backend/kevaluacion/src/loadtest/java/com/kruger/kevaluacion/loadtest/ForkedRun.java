@@ -0,0 +1,38 @@
+package com.kruger.kevaluacion.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ejecuta LoadTestRunner en una JVM nueva (mismo classpath y opciones de la JVM actual) y lee su JSON.
+ * Cada modo de una comparación arranca así desde cero: sin JIT, cachés ni pools compartidos.
+ */
+final class ForkedRun {
+
+    private ForkedRun() {
+    }
+
+    /** Los argumentos posteriores prevalecen sobre los anteriores; --output lo fija siempre este método. */
+    static JsonNode run(String label, List<String> arguments, Path output) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTestRunner.class.getName());
+        command.addAll(arguments);
+        command.add("--output=" + output);
+
+        System.out.println("=== Modo " + label + " ===");
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("La ejecución en modo " + label + " terminó con código " + exitCode);
+        }
+        return new ObjectMapper().readTree(output.toFile());
+    }
+}
@@ -0,0 +1,61 @@
+package com.kruger.kevaluacion.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros del harness, como argumentos --clave=valor.
+ * Sin --target se arranca la aplicación en el mismo proceso con --profiles (por defecto loadtest, H2 en memoria).
+ * --login-storm=N añade N clientes que solo hacen login, sin pausa, durante toda la ejecución.
+ */
+public record LoadTestOptions(
+        String target,
+        String profiles,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        boolean seed,
+        int seedUsers,
+        int seedRooms,
+        int seedReservations,
+        int horizonDays,
+        int clients,
+        int warmupSeconds,
+        int durationSeconds,
+        double collisionRate,
+        int loginStorm,
+        long randomSeed,
+        Path output
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestOptions(
+                values.get("target"),
+                values.getOrDefault("profiles", "loadtest"),
+                values.get("jdbc-url"),
+                values.getOrDefault("jdbc-user", "sa"),
+                values.getOrDefault("jdbc-password", ""),
+                Boolean.parseBoolean(values.getOrDefault("seed", "true")),
+                Integer.parseInt(values.getOrDefault("users", "5000")),
+                Integer.parseInt(values.getOrDefault("rooms", "2000")),
+                Integer.parseInt(values.getOrDefault("reservations", "1000000")),
+                Integer.parseInt(values.getOrDefault("horizon-days", "60")),
+                Integer.parseInt(values.getOrDefault("clients", "200")),
+                Integer.parseInt(values.getOrDefault("warmup", "30")),
+                Integer.parseInt(values.getOrDefault("duration", "120")),
+                Double.parseDouble(values.getOrDefault("collision-rate", "0.2")),
+                Integer.parseInt(values.getOrDefault("login-storm", "0")),
+                Long.parseLong(values.getOrDefault("random-seed", "42")),
+                Path.of(values.getOrDefault("output", "target/loadtest-result.json")));
+    }
+}
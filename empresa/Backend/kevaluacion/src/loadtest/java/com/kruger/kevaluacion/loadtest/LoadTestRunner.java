@@ -0,0 +1,109 @@
+package com.kruger.kevaluacion.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.kevaluacion.KevaluacionApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Punto de entrada del harness de carga:
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--clients=200 --duration=120"
+ *
+ * 1. Arranca la aplicación (o usa --target) y genera el dataset (o usa --jdbc-url; --seed=false lo omite).
+ * 2. Ejecuta el workload con calentamiento y medición.
+ * 3. Imprime p50/p99/p999 y throughput por endpoint y los guarda en JSON (--output).
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+
+        ConfigurableApplicationContext application = null;
+        String target = options.target();
+        DataSource dataSource = null;
+        if (target == null) {
+            application = new SpringApplicationBuilder(KevaluacionApplication.class)
+                    .profiles(options.profiles().split(","))
+                    .properties("server.port=0")
+                    .run();
+            Environment environment = application.getEnvironment();
+            target = "http://localhost:" + environment.getProperty("local.server.port")
+                    + environment.getProperty("server.servlet.context-path", "");
+            dataSource = application.getBean(DataSource.class);
+        } else if (options.jdbcUrl() != null) {
+            dataSource = new DriverManagerDataSource(options.jdbcUrl(), options.jdbcUser(), options.jdbcPassword());
+        }
+
+        if (options.seed() && dataSource != null) {
+            long start = System.nanoTime();
+            DatasetGenerator.generate(dataSource, options, firstDay);
+            System.out.printf("Dataset: %d usuarios, %d salas, %d reservas en %.1f s%n", options.seedUsers(),
+                    options.seedRooms(), options.seedReservations(), (System.nanoTime() - start) / 1e9);
+        }
+
+        ApiClient client = new ApiClient(target, options.clients());
+        String token = client.login(DatasetGenerator.USERNAME_PREFIX + 0, DatasetGenerator.PASSWORD);
+        if (token == null) {
+            throw new IllegalStateException("No se pudo iniciar sesión con los usuarios generados en " + target);
+        }
+        List<Long> roomIds = client.roomIds(token);
+
+        System.out.printf("Workload: %d clientes (+%d de login) contra %s, %d s de calentamiento y %d s de medición%n",
+                options.clients(), options.loginStorm(), target, options.warmupSeconds(), options.durationSeconds());
+        double seconds = new Workload(client, options, firstDay, roomIds).run();
+
+        List<EndpointStats.Summary> summaries = client.stats().values().stream()
+                .map(stats -> stats.summarize(seconds))
+                .sorted(Comparator.comparing(EndpointStats.Summary::endpoint))
+                .toList();
+        print(summaries);
+        write(options, seconds, summaries);
+
+        if (application != null) {
+            application.close();
+        }
+        // El executor del HttpClient no usa hilos daemon
+        System.exit(0);
+    }
+
+    private static void print(List<EndpointStats.Summary> summaries) {
+        System.out.printf("%-28s %9s %9s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "ok",
+                "4xx", "errores", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointStats.Summary s : summaries) {
+            System.out.printf("%-28s %9d %9d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", s.endpoint(), s.requests(),
+                    s.ok(), s.rejected(), s.errors(), s.throughput(), s.p50Millis(), s.p99Millis(), s.p999Millis(),
+                    s.maxMillis());
+        }
+    }
+
+    private static void write(LoadTestOptions options, double seconds, List<EndpointStats.Summary> summaries)
+            throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("profiles", options.profiles());
+        result.put("clients", options.clients());
+        result.put("measuredSeconds", seconds);
+        result.put("collisionRate", options.collisionRate());
+        result.put("loginStorm", options.loginStorm());
+        result.put("endpoints", summaries);
+
+        if (options.output().getParent() != null) {
+            Files.createDirectories(options.output().getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.output().toFile(), result);
+        System.out.println("Resultado: " + options.output().toAbsolutePath());
+    }
+}
@@ -0,0 +1,61 @@
+package com.kruger.kevaluacion.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ejecuta el mismo workload dos veces, cada una en su propia JVM: sin más y con una tormenta de logins
+ * (--login-storm, por defecto 500 clientes que solo hacen login). Imprime p50/p99 del resto de endpoints
+ * en ambos modos, para comprobar que BCrypt en su pool acotado no los degrada, y el reparto de respuestas
+ * del login (los 503 son las verificaciones descartadas por cola llena). Acepta las opciones de LoadTestRunner.
+ */
+public final class LoginStormComparison {
+
+    private static final String LOGIN = "POST /auth/login";
+
+    private LoginStormComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (String mode : List.of("baseline", "storm")) {
+            List<String> arguments = new ArrayList<>();
+            arguments.add("--login-storm=500");
+            arguments.addAll(List.of(args));
+            if (mode.equals("baseline")) {
+                arguments.add("--login-storm=0");
+            }
+            results.put(mode, ForkedRun.run(mode, arguments, Path.of("target", "loadtest-login-" + mode + ".json")));
+        }
+        print(results.get("baseline"), results.get("storm"));
+    }
+
+    private static void print(JsonNode baseline, JsonNode storm) {
+        Map<String, JsonNode> stormByEndpoint = new LinkedHashMap<>();
+        storm.get("endpoints").forEach(endpoint -> stormByEndpoint.put(endpoint.get("endpoint").asText(), endpoint));
+
+        System.out.printf("%n%-28s %12s %12s %12s %12s%n", "endpoint (+" + storm.get("loginStorm").asInt() + " logins)",
+                "p50 ms base", "p50 ms storm", "p99 ms base", "p99 ms storm");
+        for (JsonNode endpoint : baseline.get("endpoints")) {
+            JsonNode other = stormByEndpoint.get(endpoint.get("endpoint").asText());
+            if (other == null || endpoint.get("endpoint").asText().equals(LOGIN)) {
+                continue;
+            }
+            System.out.printf("%-28s %12.2f %12.2f %12.2f %12.2f%n", endpoint.get("endpoint").asText(),
+                    endpoint.get("p50Millis").asDouble(), other.get("p50Millis").asDouble(),
+                    endpoint.get("p99Millis").asDouble(), other.get("p99Millis").asDouble());
+        }
+
+        JsonNode login = stormByEndpoint.get(LOGIN);
+        if (login != null) {
+            System.out.printf("%n%s durante la tormenta: %d ok, %d 4xx (cuotas), %d 5xx/errores (cola llena), p99 %.2f ms%n",
+                    LOGIN, login.get("ok").asLong(), login.get("rejected").asLong(), login.get("errors").asLong(),
+                    login.get("p99Millis").asDouble());
+        }
+    }
+}
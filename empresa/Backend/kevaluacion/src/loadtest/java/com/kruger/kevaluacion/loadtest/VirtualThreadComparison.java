@@ -0,0 +1,58 @@
+package com.kruger.kevaluacion.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ejecuta el mismo workload dos veces, cada una en su propia JVM: con el pool de hilos de Tomcat
+ * (perfil loadtest) y con hilos virtuales (perfil loadtest,virtual), por defecto con 2.000 clientes.
+ * Imprime throughput y p99 por endpoint de ambos modos. Acepta las mismas opciones que LoadTestRunner.
+ */
+public final class VirtualThreadComparison {
+
+    private static final Map<String, String> MODES = Map.of(
+            "platform", "loadtest",
+            "virtual", "loadtest,virtual");
+
+    private VirtualThreadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            List<String> arguments = new ArrayList<>();
+            arguments.add("--clients=2000");
+            arguments.addAll(List.of(args));
+            arguments.add("--profiles=" + MODES.get(mode));
+            results.put(mode, ForkedRun.run(mode, arguments, Path.of("target", "loadtest-" + mode + ".json")));
+        }
+        print(results.get("platform"), results.get("virtual"));
+    }
+
+    private static void print(JsonNode platform, JsonNode virtual) {
+        Map<String, JsonNode> virtualByEndpoint = new LinkedHashMap<>();
+        virtual.get("endpoints").forEach(endpoint -> virtualByEndpoint.put(endpoint.get("endpoint").asText(), endpoint));
+
+        System.out.printf("%n%-28s %14s %14s %14s %14s%n", "endpoint (" + platform.get("clients").asInt() + " clientes)",
+                "req/s platf.", "req/s virtual", "p99 ms platf.", "p99 ms virtual");
+        double totalPlatform = 0;
+        double totalVirtual = 0;
+        for (JsonNode endpoint : platform.get("endpoints")) {
+            JsonNode other = virtualByEndpoint.get(endpoint.get("endpoint").asText());
+            if (other == null) {
+                continue;
+            }
+            totalPlatform += endpoint.get("throughput").asDouble();
+            totalVirtual += other.get("throughput").asDouble();
+            System.out.printf("%-28s %14.1f %14.1f %14.2f %14.2f%n", endpoint.get("endpoint").asText(),
+                    endpoint.get("throughput").asDouble(), other.get("throughput").asDouble(),
+                    endpoint.get("p99Millis").asDouble(), other.get("p99Millis").asDouble());
+        }
+        System.out.printf("%-28s %14.1f %14.1f%n", "total", totalPlatform, totalVirtual);
+    }
+}
@@ -0,0 +1,137 @@
+package com.kruger.kevaluacion.loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mezcla de operaciones de un usuario típico, repetida sin pausa por cada cliente concurrente:
+ * 2 % login, 30 % listado de salas, 23 % búsqueda de disponibilidad, 10 % mis reservas,
+ * 23 % creación (una parte sobre franjas "calientes" compartidas para forzar colisiones) y 12 % cancelación.
+ */
+public final class Workload {
+
+    private static final int HOT_SLOTS = 50;
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+    private final LocalDate firstDay;
+    private final List<Long> roomIds;
+    private final List<long[]> hotSlots = new ArrayList<>();
+
+    public Workload(ApiClient client, LoadTestOptions options, LocalDate firstDay, List<Long> roomIds) {
+        this.client = client;
+        this.options = options;
+        this.firstDay = firstDay;
+        this.roomIds = roomIds;
+
+        SplittableRandom random = new SplittableRandom(options.randomSeed());
+        for (int i = 0; i < HOT_SLOTS; i++) {
+            hotSlots.add(new long[]{
+                    roomIds.get(random.nextInt(roomIds.size())),
+                    random.nextInt(options.horizonDays()),
+                    random.nextInt(DatasetGenerator.SLOTS_PER_DAY)});
+        }
+    }
+
+    /**
+     * Ejecuta el calentamiento (sus métricas se descartan) y la medición; devuelve los segundos medidos.
+     */
+    public double run() throws InterruptedException {
+        // Un hilo virtual por cliente: miles de clientes sin que el generador de carga sea el cuello de botella
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        CountDownLatch done = new CountDownLatch(options.clients() + options.loginStorm());
+
+        for (int i = 0; i < options.clients(); i++) {
+            long clientSeed = options.randomSeed() * 31 + i;
+            executor.execute(() -> {
+                try {
+                    runClient(new SplittableRandom(clientSeed), end);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        for (int i = 0; i < options.loginStorm(); i++) {
+            String username = DatasetGenerator.USERNAME_PREFIX + (i % options.seedUsers());
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        client.login(username, DatasetGenerator.PASSWORD);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(Math.max(0, warmupEnd - System.nanoTime())));
+        client.stats().values().forEach(EndpointStats::reset);
+        long measureStart = System.nanoTime();
+
+        done.await();
+        executor.shutdown();
+        return (System.nanoTime() - measureStart) / 1e9;
+    }
+
+    private void runClient(SplittableRandom random, long end) {
+        String username = DatasetGenerator.USERNAME_PREFIX + random.nextInt(options.seedUsers());
+        String token = client.login(username, DatasetGenerator.PASSWORD);
+        Deque<Long> created = new ArrayDeque<>();
+
+        while (token != null && System.nanoTime() < end) {
+            int roll = random.nextInt(100);
+            if (roll < 2) {
+                String renewed = client.login(username, DatasetGenerator.PASSWORD);
+                token = renewed != null ? renewed : token;
+            } else if (roll < 32) {
+                client.listRooms(token);
+            } else if (roll < 55) {
+                LocalDateTime start = randomSlot(random);
+                client.searchAvailable(token, start, start.plusHours(1), 1 + random.nextInt(20));
+            } else if (roll < 65) {
+                client.myReservations(token);
+            } else if (roll < 88 || created.isEmpty()) {
+                create(random, token, created);
+            } else {
+                client.cancelReservation(token, created.pollFirst());
+            }
+        }
+    }
+
+    private void create(SplittableRandom random, String token, Deque<Long> created) {
+        long roomId;
+        LocalDateTime start;
+        if (random.nextDouble() < options.collisionRate()) {
+            long[] hot = hotSlots.get(random.nextInt(hotSlots.size()));
+            roomId = hot[0];
+            start = slot((int) hot[1], (int) hot[2]);
+        } else {
+            roomId = roomIds.get(random.nextInt(roomIds.size()));
+            start = randomSlot(random);
+        }
+        Long id = client.createReservation(token, roomId, start, start.plusHours(1));
+        if (id != null) {
+            created.addLast(id);
+        }
+    }
+
+    private LocalDateTime randomSlot(SplittableRandom random) {
+        return slot(random.nextInt(options.horizonDays()), random.nextInt(DatasetGenerator.SLOTS_PER_DAY));
+    }
+
+    private LocalDateTime slot(int day, int index) {
+        return firstDay.plusDays(day).atTime(DatasetGenerator.FIRST_HOUR + index, 0);
+    }
+}
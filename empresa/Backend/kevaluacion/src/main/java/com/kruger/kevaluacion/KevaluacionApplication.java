@@ -2,8 +2,10 @@ package com.kruger.kevaluacion;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC solo se usa para lecturas: sin un segundo TransactionManager, @Transactional sigue resolviendo al de JPA
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 public class KevaluacionApplication {
 
 	public static void main(String[] args) {
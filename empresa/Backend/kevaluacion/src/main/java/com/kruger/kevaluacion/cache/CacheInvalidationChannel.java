@@ -0,0 +1,15 @@
+package com.kruger.kevaluacion.cache;
+
+/**
+ * Canal por el que se difunden las invalidaciones de cachés en memoria.
+ * Con varias instancias, la implementación debe entregar cada publicación a los
+ * suscriptores de todas ellas (incluida la que publica). Basta con declarar un bean
+ * de este tipo (Redis pub/sub, LISTEN/NOTIFY de PostgreSQL, ...) para reemplazar
+ * la implementación en memoria.
+ */
+public interface CacheInvalidationChannel {
+
+    void publish(String cacheName);
+
+    void subscribe(String cacheName, Runnable listener);
+}
@@ -0,0 +1,25 @@
+package com.kruger.kevaluacion.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Canal de una sola instancia: entrega las invalidaciones de forma síncrona a los suscriptores locales.
+ * Es el canal por defecto y el que usan las pruebas.
+ */
+public class InMemoryCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String cacheName) {
+        listeners.getOrDefault(cacheName, List.of()).forEach(Runnable::run);
+    }
+
+    @Override
+    public void subscribe(String cacheName, Runnable listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
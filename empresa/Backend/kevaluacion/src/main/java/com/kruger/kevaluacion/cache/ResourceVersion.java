@@ -0,0 +1,21 @@
+package com.kruger.kevaluacion.cache;
+
+import java.time.Instant;
+
+/**
+ * Versión de una o varias colecciones: base del ETag y fecha para Last-Modified.
+ */
+public record ResourceVersion(String tag, Instant lastModified) {
+
+    // ETag débil: dos respuestas con la misma versión son equivalentes, no idénticas byte a byte
+    public String etag() {
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Versión de una respuesta que depende del usuario autenticado (sus reservas, sus permisos).
+     */
+    public ResourceVersion forUser(String username) {
+        return new ResourceVersion(tag + "-u" + Integer.toHexString(username.hashCode()), lastModified);
+    }
+}
@@ -0,0 +1,164 @@
+package com.kruger.kevaluacion.cache;
+
+import com.kruger.kevaluacion.event.ReservationChangedEvent;
+import com.kruger.kevaluacion.event.RoomChangedEvent;
+import com.kruger.kevaluacion.event.UserChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contadores de cambios por colección para los GET condicionales (ETag / Last-Modified).
+ * Los contadores viven en la tabla resource_versions: todos los nodos y reinicios ven la misma
+ * versión, así un 304 no depende de qué instancia atienda la petición. Cada transacción que escribe
+ * avanza una vez las colecciones afectadas, dentro de la propia transacción y justo antes del commit:
+ * o se confirman los datos y la versión, o ninguno. Comparar versiones es una lectura de tres filas
+ * por clave primaria, sin cargar ni serializar datos.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        ROOMS,
+        RESERVATIONS,
+        USERS
+    }
+
+    // Last-Modified tiene resolución de segundos y nunca adelanta al reloj; dos escrituras del mismo
+    // segundo comparten fecha y las distingue el contador del ETag
+    private static final String ADVANCE =
+            "UPDATE resource_versions SET version = version + 1, modified_at = GREATEST(modified_at, ?) " +
+            "WHERE resource = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResourceVersions(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Las filas de la migración nacen sin fecha: la primera instancia que arranca fija una
+        jdbcTemplate.update("UPDATE resource_versions SET modified_at = ? WHERE modified_at = 0", nowSeconds());
+    }
+
+    public ResourceVersion current(Resource... resources) {
+        Map<Resource, long[]> rows = new EnumMap<>(Resource.class);
+        jdbcTemplate.query("SELECT resource, version, modified_at FROM resource_versions",
+                rs -> {
+                    rows.put(Resource.valueOf(rs.getString(1)), new long[]{rs.getLong(2), rs.getLong(3)});
+                });
+
+        StringBuilder tag = new StringBuilder();
+        long lastModified = 0;
+        for (Resource resource : resources) {
+            long[] row = rows.get(resource);
+            if (row == null) {
+                throw new IllegalStateException("Falta la fila de resource_versions para " + resource);
+            }
+            if (!tag.isEmpty()) {
+                tag.append('-');
+            }
+            tag.append(resource.name().charAt(0)).append(row[0]);
+            lastModified = Math.max(lastModified, row[1]);
+        }
+        // Un nodo con el reloj adelantado no puede fechar la respuesta en el futuro de este
+        return new ResourceVersion(tag.toString(), Instant.ofEpochSecond(Math.min(lastModified, nowSeconds())));
+    }
+
+    /**
+     * Marca las colecciones como modificadas. Dentro de una transacción se acumulan y se avanzan una
+     * sola vez antes del commit (un lote de 50 reservas es un UPDATE por colección, no 50); fuera de
+     * ella (actualizaciones masivas de los trabajos programados) se avanzan en el acto.
+     */
+    public void touch(Resource... resources) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingBump().resources.addAll(Arrays.asList(resources));
+        } else {
+            EnumSet<Resource> touched = EnumSet.noneOf(Resource.class);
+            touched.addAll(Arrays.asList(resources));
+            transactionTemplate.executeWithoutResult(status -> advance(touched));
+        }
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        touch(Resource.RESERVATIONS);
+    }
+
+    // Las reservas muestran el nombre de la sala: un cambio de sala también las modifica
+    @EventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+        touch(Resource.ROOMS, Resource.RESERVATIONS);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        touch(Resource.USERS);
+    }
+
+    // Las sincronizaciones se suspenden con su transacción: una REQUIRES_NEW anidada acumula aparte
+    private PendingBump pendingBump() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBump pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingBump pending = new PendingBump();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    // Orden fijo de filas: dos transacciones concurrentes no se bloquean mutuamente
+    private void advance(Set<Resource> resources) {
+        long now = nowSeconds();
+        for (Resource resource : resources) {
+            jdbcTemplate.update(ADVANCE, now, resource.name());
+        }
+    }
+
+    private static long nowSeconds() {
+        return Instant.now().getEpochSecond();
+    }
+
+    private final class PendingBump implements TransactionSynchronization {
+
+        private final EnumSet<Resource> resources = EnumSet.noneOf(Resource.class);
+
+        private ResourceVersions owner() {
+            return ResourceVersions.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (resources.isEmpty()) {
+                return;
+            }
+            // Primero se escriben los datos: la fila compartida queda bloqueada solo hasta el commit
+            if (entityManager.isJoinedToTransaction()) {
+                entityManager.flush();
+            }
+            advance(resources);
+        }
+
+        // Después de todas las demás sincronizaciones de beforeCommit
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.kruger.kevaluacion.config;
+
+import com.kruger.kevaluacion.cache.CacheInvalidationChannel;
+import com.kruger.kevaluacion.cache.InMemoryCacheInvalidationChannel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // Canal por defecto para una sola instancia; un despliegue con varias declara el suyo
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationChannel.class)
+    public CacheInvalidationChannel cacheInvalidationChannel() {
+        return new InMemoryCacheInvalidationChannel();
+    }
+}
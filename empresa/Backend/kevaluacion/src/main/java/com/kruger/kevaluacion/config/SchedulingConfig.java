@@ -0,0 +1,12 @@
+package com.kruger.kevaluacion.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita los trabajos programados del paquete job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,47 @@
+package com.kruger.kevaluacion.controller;
+
+import com.kruger.kevaluacion.dto.analytics.RoomUtilizationDTO;
+import com.kruger.kevaluacion.dto.analytics.UtilizationRebuildDTO;
+import com.kruger.kevaluacion.service.interfaces.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Indicadores de uso de las salas")
+@SecurityRequirement(name = "bearerAuth")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/utilization")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Ocupación de todas las salas",
+            description = "Solo ADMIN. Minutos reservados por sala, día de la semana y franja de 30 minutos")
+    public ResponseEntity<List<RoomUtilizationDTO>> findUtilization() {
+        return ResponseEntity.ok(analyticsService.findUtilization());
+    }
+
+    @GetMapping("/utilization/rooms/{roomId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Ocupación de una sala", description = "Solo ADMIN. Mapa de calor de una sala")
+    public ResponseEntity<RoomUtilizationDTO> findRoomUtilization(@PathVariable Long roomId) {
+        return ResponseEntity.ok(analyticsService.findUtilization(roomId));
+    }
+
+    @PostMapping("/utilization/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir ocupación",
+            description = "Solo ADMIN. Recalcula el agregado desde la base de datos, en paralelo por grupos de salas")
+    public ResponseEntity<UtilizationRebuildDTO> rebuildUtilization() {
+        return ResponseEntity.ok(analyticsService.rebuildUtilization());
+    }
+}
@@ -2,33 +2,59 @@ package com.kruger.kevaluacion.controller;
 
 import com.kruger.kevaluacion.dto.auth.AuthRequest;
 import com.kruger.kevaluacion.dto.auth.AuthResponse;
+import com.kruger.kevaluacion.dto.auth.RefreshRequest;
 import com.kruger.kevaluacion.dto.auth.RegisterRequest;
+import com.kruger.kevaluacion.security.LoginRateLimiter;
 import com.kruger.kevaluacion.service.impl.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * Controlador para autenticación y registro.
+ * Cada intento pasa antes por LoginRateLimiter (por IP y, en el login, por usuario).
  */
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginRateLimiter loginRateLimiter) {
         this.authService = authService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody @Valid AuthRequest request) {
+    public ResponseEntity<AuthResponse> login(@RequestBody @Valid AuthRequest request,
+                                              HttpServletRequest servletRequest) {
+        loginRateLimiter.checkLogin(servletRequest.getRemoteAddr(), request.username());
         return ResponseEntity.ok(authService.login(request));
     }
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody @Valid RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(@RequestBody @Valid RegisterRequest request,
+                                                 HttpServletRequest servletRequest) {
+        loginRateLimiter.checkIp(servletRequest.getRemoteAddr());
         return ResponseEntity.ok(authService.register(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody @Valid RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody @Valid RefreshRequest request,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(request, accessToken);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,57 @@
+package com.kruger.kevaluacion.controller;
+
+import com.kruger.kevaluacion.cache.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Respuestas condicionales de los GET: la versión se compara antes de llamar al servicio,
+ * así un 304 no toca JPA.
+ */
+final class ConditionalGet {
+
+    // El navegador guarda la respuesta pero la revalida siempre (If-None-Match / If-Modified-Since)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        return request.checkNotModified(version.etag(), version.lastModified().toEpochMilli());
+    }
+
+    static <T> ResponseEntity<T> notModified(ResourceVersion version) {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+    }
+
+    static <T> ResponseEntity<T> ok(ResourceVersion version, T body) {
+        return headers(ResponseEntity.ok(), version).body(body);
+    }
+
+    // Variantes solo con ETag, para respuestas cuya versión es un hash del contenido (catálogo de salas)
+    static boolean isNotModified(WebRequest request, String etag) {
+        return request.checkNotModified(etag);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return headers(ResponseEntity.ok(), etag).body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder, ResourceVersion version) {
+        return headers(builder, version.etag()).lastModified(version.lastModified());
+    }
+
+    private static ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder, String etag) {
+        return builder
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+    }
+}
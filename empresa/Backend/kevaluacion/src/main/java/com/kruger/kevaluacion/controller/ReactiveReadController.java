@@ -0,0 +1,56 @@
+package com.kruger.kevaluacion.controller;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import com.kruger.kevaluacion.service.interfaces.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lecturas no bloqueantes: el hilo del servlet se libera mientras la consulta R2DBC corre y cada
+ * elemento se escribe como una línea NDJSON, pidiendo el siguiente solo cuando el anterior se envió.
+ */
+@RestController
+@RequestMapping(value = "/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@RequiredArgsConstructor
+@Tag(name = "Reactive reads", description = "Listados en streaming (NDJSON) con R2DBC")
+@SecurityRequirement(name = "bearerAuth")
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping("/rooms/available")
+    @Operation(summary = "Salas disponibles (streaming)", description = "Igual que /rooms/available, una sala por línea")
+    public Flux<RoomResponseDTO> findAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        return reactiveReadService.findAvailableRooms(startTime, endTime);
+    }
+
+    @GetMapping("/reservations")
+    @Operation(summary = "Mis reservas (streaming)", description = "Igual que /reservations, una reserva por línea")
+    public Flux<ReservationResponseDTO> findMyReservations(@AuthenticationPrincipal UserDetails userDetails) {
+        return reactiveReadService.findByUser(userDetails);
+    }
+
+    @GetMapping("/reservations/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Todas las reservas (streaming)", description = "Solo ADMIN, una reserva por línea")
+    public Flux<ReservationResponseDTO> findAll(@AuthenticationPrincipal UserDetails userDetails) {
+        return reactiveReadService.findAll(userDetails);
+    }
+}
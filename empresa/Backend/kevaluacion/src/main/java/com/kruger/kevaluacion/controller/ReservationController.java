@@ -1,19 +1,38 @@
 package com.kruger.kevaluacion.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.kevaluacion.cache.ResourceVersion;
+import com.kruger.kevaluacion.cache.ResourceVersions;
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationFilterDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationPageDTO;
 import com.kruger.kevaluacion.dto.reservation.ReservationRequestDTO;
 import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationSeriesRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationSeriesResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.SlotSuggestionDTO;
+import com.kruger.kevaluacion.dto.reservation.SlotSuggestionRequestDTO;
+import com.kruger.kevaluacion.entity.ReservationStatus;
 import com.kruger.kevaluacion.service.interfaces.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,7 +42,11 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class ReservationController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
 
     @PostMapping
     @Operation(summary = "Crear reserva", description = "Crea una nueva reserva de sala")
@@ -32,26 +55,152 @@ public class ReservationController {
         return ResponseEntity.status(201).body(reservationService.create(dto, userDetails));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Crear reservas en lote",
+            description = "Valida todo el lote en memoria y lo inserta en lote; devuelve el resultado de cada elemento")
+    public ResponseEntity<ReservationBatchResponseDTO> createBatch(@RequestBody @Valid ReservationBatchRequestDTO dto,
+                                                                   @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(reservationService.createBatch(dto, userDetails));
+    }
+
+    @PostMapping("/series")
+    @Operation(summary = "Crear serie de reservas",
+            description = "Crea reservas recurrentes (diaria, semanal o mensual) hasta una fecha o un número de ocurrencias")
+    public ResponseEntity<ReservationSeriesResponseDTO> createSeries(@RequestBody @Valid ReservationSeriesRequestDTO dto,
+                                                                     @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.status(201).body(reservationService.createSeries(dto, userDetails));
+    }
+
     @GetMapping
     @Operation(summary = "Mis reservas", description = "Obtiene las reservas del usuario autenticado")
     public ResponseEntity<List<ReservationResponseDTO>> findMyReservations(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(reservationService.findByUser(userDetails));
+            @AuthenticationPrincipal UserDetails userDetails, WebRequest request) {
+        ResourceVersion version = reservationsVersion(userDetails);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, reservationService.findByUser(userDetails));
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Todas las reservas", description = "Solo ADMIN puede ver todas las reservas")
     public ResponseEntity<List<ReservationResponseDTO>> findAll(
+            @AuthenticationPrincipal UserDetails userDetails, WebRequest request) {
+        ResourceVersion version = reservationsVersion(userDetails);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, reservationService.findAll(userDetails));
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Mis reservas paginadas", description = "Página por cursor (startTime, id) con filtros opcionales")
+    public ResponseEntity<ReservationPageDTO> findMyReservationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        ResourceVersion version = reservationsVersion(userDetails);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        ReservationFilterDTO filter = new ReservationFilterDTO(status, roomId, from, to);
+        return ConditionalGet.ok(version, reservationService.findPageByUser(filter, cursor, size, userDetails));
+    }
+
+    @GetMapping("/all/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Todas las reservas paginadas", description = "Solo ADMIN. Página por cursor (startTime, id) con filtros opcionales")
+    public ResponseEntity<ReservationPageDTO> findAllPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        ResourceVersion version = reservationsVersion(userDetails);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        ReservationFilterDTO filter = new ReservationFilterDTO(status, roomId, from, to);
+        return ConditionalGet.ok(version, reservationService.findAllPage(filter, cursor, size, userDetails));
+    }
+
+    @GetMapping("/archive")
+    @Operation(summary = "Mis reservas archivadas",
+            description = "Reservas cerradas que ReservationArchiveJob movió a reservations_archive; página por cursor (startTime, id)")
+    public ResponseEntity<ReservationPageDTO> findMyArchivedReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        // El trabajo de archivo avanza la versión de reservas en cada lote
+        ResourceVersion version = reservationsVersion(userDetails);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, reservationService.findArchivedByUser(cursor, size, userDetails));
+    }
+
+    @GetMapping(value = "/all/stream", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar todas las reservas", description = "Solo ADMIN. Una reserva JSON por línea (NDJSON), sin cargar el listado en memoria")
+    public ResponseEntity<StreamingResponseBody> streamAll(
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        ReservationFilterDTO filter = new ReservationFilterDTO(status, roomId, from, to);
+
+        StreamingResponseBody body = out -> reservationService.streamAll(filter, userDetails, dto -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/suggestions")
+    @Operation(summary = "Sugerir franjas libres",
+            description = "Devuelve las primeras franjas (sala, horario) libres en la ventana indicada, en horario laboral " +
+                    "y sin cruzarse con otras reservas del usuario")
+    public ResponseEntity<List<SlotSuggestionDTO>> suggestSlots(
+            @RequestParam int durationMinutes,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) String equipment,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(reservationService.findAll(userDetails));
+        // Sin ETag: el resultado depende de la hora actual, no solo de los datos
+        SlotSuggestionRequestDTO criteria = new SlotSuggestionRequestDTO(
+                durationMinutes, from, to, minCapacity, equipment, limit);
+        return ResponseEntity.ok(reservationService.suggestSlots(criteria, userDetails));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener reserva por ID", description = "Obtiene una reserva específica (solo propietario o ADMIN)")
     public ResponseEntity<ReservationResponseDTO> findById(@PathVariable Long id,
-                                                           @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(reservationService.findById(id, userDetails));
+                                                           @AuthenticationPrincipal UserDetails userDetails,
+                                                           WebRequest request) {
+        // Existencia y propietario se comprueban antes: el ETag es de la colección, no de esta reserva
+        ReservationResponseDTO reservation = reservationService.findById(id, userDetails);
+        ResourceVersion version = reservationsVersion(userDetails);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, reservation);
     }
 
     @DeleteMapping("/{id}")
@@ -61,4 +210,19 @@ public class ReservationController {
         reservationService.cancel(id, userDetails);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @DeleteMapping("/series/{seriesId}")
+    @Operation(summary = "Cancelar serie", description = "Cancela las ocurrencias activas de una serie, opcionalmente desde una fecha")
+    public ResponseEntity<Void> cancelSeries(@PathVariable String seriesId,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        reservationService.cancelSeries(seriesId, from, userDetails);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Las respuestas dependen del usuario (sus reservas, sus permisos) y muestran datos de la sala
+    private ResourceVersion reservationsVersion(UserDetails userDetails) {
+        return resourceVersions.current(ResourceVersions.Resource.RESERVATIONS, ResourceVersions.Resource.ROOMS)
+                .forUser(userDetails.getUsername());
+    }
+}
@@ -1,5 +1,10 @@
 package com.kruger.kevaluacion.controller;
 
+import com.kruger.kevaluacion.cache.ResourceVersion;
+import com.kruger.kevaluacion.cache.ResourceVersions;
+import com.kruger.kevaluacion.dto.room.RoomAvailabilitySearchDTO;
+import com.kruger.kevaluacion.dto.room.RoomCatalogDTO;
+import com.kruger.kevaluacion.dto.room.RoomFreeBusyDTO;
 import com.kruger.kevaluacion.dto.room.RoomRequestDTO;
 import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
 import com.kruger.kevaluacion.service.interfaces.RoomService;
@@ -8,13 +13,18 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,6 +36,7 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final ResourceVersions resourceVersions;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -36,23 +47,102 @@ public class RoomController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todas las salas", description = "Obtiene todas las salas disponibles")
-    public ResponseEntity<List<RoomResponseDTO>> findAll() {
-        return ResponseEntity.ok(roomService.findAll());
+    @Operation(summary = "Listar todas las salas",
+            description = "Obtiene todas las salas disponibles; responde 304 si If-None-Match coincide con el ETag")
+    public ResponseEntity<List<RoomResponseDTO>> findAll(WebRequest request) {
+        RoomCatalogDTO catalog = roomService.findCatalog();
+        if (ConditionalGet.isNotModified(request, catalog.etag())) {
+            return ConditionalGet.notModified(catalog.etag());
+        }
+        return ConditionalGet.ok(catalog.etag(), catalog.rooms());
     }
 
     @GetMapping("/available")
     @Operation(summary = "Buscar salas disponibles", description = "Busca salas disponibles en un período específico")
     public ResponseEntity<List<RoomResponseDTO>> findAvailable(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
-        return ResponseEntity.ok(roomService.findAvailableRooms(startTime, endTime));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            WebRequest request) {
+        ResourceVersion version = resourceVersions.current(
+                ResourceVersions.Resource.ROOMS, ResourceVersions.Resource.RESERVATIONS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, roomService.findAvailableRooms(startTime, endTime));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Búsqueda de salas disponibles",
+            description = "Salas libres en el período, filtradas por capacidad mínima, ubicación y equipamiento (paginado)")
+    public ResponseEntity<Page<RoomResponseDTO>> searchAvailable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String equipment,
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            WebRequest request) {
+        ResourceVersion version = resourceVersions.current(
+                ResourceVersions.Resource.ROOMS, ResourceVersions.Resource.RESERVATIONS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        RoomAvailabilitySearchDTO criteria = new RoomAvailabilitySearchDTO(startTime, endTime, minCapacity, location, equipment);
+        return ConditionalGet.ok(version, roomService.searchAvailableRooms(criteria, pageable));
+    }
+
+    @GetMapping("/freebusy")
+    @Operation(summary = "Ocupación de varias salas",
+            description = "Mapa de bits de franjas ocupadas por sala en horario laboral (8:00 - 18:00), con una sola consulta")
+    public ResponseEntity<List<RoomFreeBusyDTO>> findFreeBusy(
+            @RequestParam List<Long> roomIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int granularity,
+            WebRequest request) {
+        ResourceVersion version = resourceVersions.current(
+                ResourceVersions.Resource.ROOMS, ResourceVersions.Resource.RESERVATIONS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, roomService.findFreeBusy(roomIds, from, to, granularity));
+    }
+
+    @GetMapping("/{id}/freebusy")
+    @Operation(summary = "Ocupación de una sala",
+            description = "Mapa de bits de franjas ocupadas en horario laboral (8:00 - 18:00) entre from y to (inclusive)")
+    public ResponseEntity<RoomFreeBusyDTO> findRoomFreeBusy(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int granularity,
+            WebRequest request) {
+        ResourceVersion version = resourceVersions.current(
+                ResourceVersions.Resource.ROOMS, ResourceVersions.Resource.RESERVATIONS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, roomService.findFreeBusy(id, from, to, granularity));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener sala por ID", description = "Obtiene los detalles de una sala específica")
-    public ResponseEntity<RoomResponseDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(roomService.findById(id));
+    public ResponseEntity<RoomResponseDTO> findById(@PathVariable Long id, WebRequest request) {
+        RoomCatalogDTO catalog = roomService.findCatalog();
+        RoomResponseDTO room = catalog.byId().get(id);
+        if (room != null) {
+            if (ConditionalGet.isNotModified(request, catalog.etag())) {
+                return ConditionalGet.notModified(catalog.etag());
+            }
+            return ConditionalGet.ok(catalog.etag(), room);
+        }
+
+        // Sala inactiva o inexistente: fuera del catálogo, versión de la colección
+        ResourceVersion version = resourceVersions.current(ResourceVersions.Resource.ROOMS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, roomService.findById(id));
     }
 
     @PutMapping("/{id}")
@@ -72,4 +162,4 @@ public class RoomController {
         roomService.delete(id, userDetails);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
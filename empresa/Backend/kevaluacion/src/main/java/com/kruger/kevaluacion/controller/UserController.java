@@ -1,7 +1,10 @@
 package com.kruger.kevaluacion.controller;
 
+import com.kruger.kevaluacion.cache.ResourceVersion;
+import com.kruger.kevaluacion.cache.ResourceVersions;
 import com.kruger.kevaluacion.dto.user.UserRequestDTO;
 import com.kruger.kevaluacion.dto.user.UserResponseDTO;
+import com.kruger.kevaluacion.dto.user.UserRoleRequestDTO;
 import com.kruger.kevaluacion.service.interfaces.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,6 +24,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ResourceVersions resourceVersions;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -31,14 +36,30 @@ public class UserController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Listar todos los usuarios", description = "Solo ADMIN puede ver todos los usuarios")
-    public ResponseEntity<List<UserResponseDTO>> findAll() {
-        return ResponseEntity.ok(userService.findAll());
+    public ResponseEntity<List<UserResponseDTO>> findAll(WebRequest request) {
+        ResourceVersion version = resourceVersions.current(ResourceVersions.Resource.USERS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, userService.findAll());
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Obtener usuario por ID", description = "Solo ADMIN puede ver detalles de usuarios específicos")
-    public ResponseEntity<UserResponseDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.findById(id));
+    public ResponseEntity<UserResponseDTO> findById(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = resourceVersions.current(ResourceVersions.Resource.USERS);
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
+        return ConditionalGet.ok(version, userService.findById(id));
+    }
+
+    @PatchMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cambiar rol", description = "Solo ADMIN. Los tokens emitidos con el rol anterior dejan de ser válidos")
+    public ResponseEntity<UserResponseDTO> updateRole(@PathVariable Long id,
+                                                      @RequestBody @Valid UserRoleRequestDTO request) {
+        return ResponseEntity.ok(userService.updateRole(id, request.role()));
     }
 }
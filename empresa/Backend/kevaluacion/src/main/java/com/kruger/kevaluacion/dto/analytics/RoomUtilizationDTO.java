@@ -0,0 +1,11 @@
+package com.kruger.kevaluacion.dto.analytics;
+
+/**
+ * Minutos reservados de una sala por día de la semana y franja del día.
+ * bookedMinutes[día][franja]: día 0 = lunes ... 6 = domingo; franja 0 = 00:00-00:30 ... 47 = 23:30-24:00.
+ */
+public record RoomUtilizationDTO(
+    Long roomId,
+    int slotMinutes,
+    long[][] bookedMinutes
+) {}
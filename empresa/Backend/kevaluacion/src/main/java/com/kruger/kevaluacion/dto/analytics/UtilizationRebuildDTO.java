@@ -0,0 +1,6 @@
+package com.kruger.kevaluacion.dto.analytics;
+
+public record UtilizationRebuildDTO(
+    int rooms,
+    long elapsedMillis
+) {}
@@ -1,10 +1,11 @@
 package com.kruger.kevaluacion.dto.auth;
 
 /**
- * DTO de respuesta que contiene el token JWT.
+ * DTO de respuesta que contiene el token JWT de acceso (vida corta) y el refresh token para renovarlo.
  */
 public record AuthResponse(
         String token,
         String username,
-        String role
+        String role,
+        String refreshToken
 ) {}
@@ -0,0 +1,10 @@
+package com.kruger.kevaluacion.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO con el refresh token, para renovar la sesión o cerrarla.
+ */
+public record RefreshRequest(
+        @NotBlank String refreshToken
+) {}
@@ -0,0 +1,31 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Regla de repetición de una serie de reservas.
+ * Se debe indicar until (fecha límite inclusive), count (número de ocurrencias) o ambos.
+ */
+public record RecurrenceRuleDTO(
+    @NotNull(message = "La frecuencia es obligatoria")
+    Frequency frequency,
+
+    @Min(value = 1, message = "El intervalo debe ser al menos 1")
+    Integer interval,
+
+    LocalDate until,
+
+    @Min(value = 1, message = "La serie debe tener al menos una ocurrencia")
+    @Max(value = 366, message = "La serie admite como máximo 366 ocurrencias")
+    Integer count
+) {
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+}
@@ -0,0 +1,16 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Lote de reservas. Cada elemento se valida por separado: los inválidos o en
+ * conflicto se informan en la respuesta sin impedir que se creen los demás.
+ */
+public record ReservationBatchRequestDTO(
+    @NotEmpty(message = "El lote debe contener al menos una reserva")
+    @Size(max = 500, message = "El lote admite como máximo 500 reservas")
+    List<ReservationRequestDTO> items
+) {}
@@ -0,0 +1,9 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import java.util.List;
+
+public record ReservationBatchResponseDTO(
+    int created,
+    int rejected,
+    List<ReservationBatchResultDTO> results
+) {}
@@ -0,0 +1,18 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+/**
+ * Resultado de un elemento del lote; index es su posición en la solicitud.
+ * reservation solo viene informado cuando status es CREATED.
+ */
+public record ReservationBatchResultDTO(
+    int index,
+    Status status,
+    ReservationResponseDTO reservation,
+    String message
+) {
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID
+    }
+}
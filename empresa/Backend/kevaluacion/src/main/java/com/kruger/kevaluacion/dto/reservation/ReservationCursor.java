@@ -0,0 +1,32 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posición de paginación por keyset: la última (startTime, id) entregada.
+ * Se expone al cliente como una cadena opaca en Base64 URL-safe.
+ */
+public record ReservationCursor(
+    LocalDateTime startTime,
+    Long id
+) {
+    public String encode() {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReservationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ReservationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
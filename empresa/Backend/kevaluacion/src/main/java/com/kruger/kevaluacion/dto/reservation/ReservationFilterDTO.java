@@ -0,0 +1,16 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import com.kruger.kevaluacion.entity.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionales para los listados de reservas.
+ * El rango [from, to) se aplica sobre la hora de inicio; null significa "sin filtro".
+ */
+public record ReservationFilterDTO(
+    ReservationStatus status,
+    Long roomId,
+    LocalDateTime from,
+    LocalDateTime to
+) {}
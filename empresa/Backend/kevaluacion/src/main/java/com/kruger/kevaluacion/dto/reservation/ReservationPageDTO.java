@@ -0,0 +1,12 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import java.util.List;
+
+/**
+ * Página de reservas ordenada por (startTime, id) descendente.
+ * nextCursor es null cuando no hay más resultados.
+ */
+public record ReservationPageDTO(
+    List<ReservationResponseDTO> items,
+    String nextCursor
+) {}
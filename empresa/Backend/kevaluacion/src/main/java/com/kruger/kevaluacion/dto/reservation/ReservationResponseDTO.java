@@ -13,7 +13,8 @@ public record ReservationResponseDTO(
     LocalDateTime createdAt,
     Long userId,
     RoomSummaryDTO room,
-    String userName
+    String userName,
+    String seriesId
 ) {
     public record RoomSummaryDTO(
         Long id,
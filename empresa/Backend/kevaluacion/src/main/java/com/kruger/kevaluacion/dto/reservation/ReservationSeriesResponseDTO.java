@@ -0,0 +1,9 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import java.util.List;
+
+public record ReservationSeriesResponseDTO(
+    String seriesId,
+    int occurrences,
+    List<ReservationResponseDTO> reservations
+) {}
@@ -0,0 +1,9 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import java.time.LocalDateTime;
+
+public record SlotSuggestionDTO(
+    ReservationResponseDTO.RoomSummaryDTO room,
+    LocalDateTime startTime,
+    LocalDateTime endTime
+) {}
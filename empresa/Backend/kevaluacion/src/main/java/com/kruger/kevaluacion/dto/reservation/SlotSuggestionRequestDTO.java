@@ -0,0 +1,16 @@
+package com.kruger.kevaluacion.dto.reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios para sugerir franjas libres.
+ * minCapacity y equipment son opcionales (null = sin filtro); limit null = 5 sugerencias.
+ */
+public record SlotSuggestionRequestDTO(
+    int durationMinutes,
+    LocalDateTime from,
+    LocalDateTime to,
+    Integer minCapacity,
+    String equipment,
+    Integer limit
+) {}
@@ -0,0 +1,15 @@
+package com.kruger.kevaluacion.dto.room;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de búsqueda de salas disponibles.
+ * minCapacity, location y equipment son opcionales (null = sin filtro).
+ */
+public record RoomAvailabilitySearchDTO(
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    Integer minCapacity,
+    String location,
+    String equipment
+) {}
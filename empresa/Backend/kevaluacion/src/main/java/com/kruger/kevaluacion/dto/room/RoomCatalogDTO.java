@@ -0,0 +1,14 @@
+package com.kruger.kevaluacion.dto.room;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable del catálogo de salas activas y su ETag (hash del contenido,
+ * igual en todas las instancias que tengan los mismos datos).
+ */
+public record RoomCatalogDTO(
+    String etag,
+    List<RoomResponseDTO> rooms,
+    Map<Long, RoomResponseDTO> byId
+) {}
@@ -0,0 +1,21 @@
+package com.kruger.kevaluacion.dto.room;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Ocupación de una sala como mapa de bits sobre la grilla de horario laboral.
+ * Cada día de [from, to] tiene slotsPerDay franjas de granularityMinutes desde dayStart;
+ * el bit i (día i / slotsPerDay, franja i % slotsPerDay) vale 1 si la franja está ocupada.
+ * busy es Base64 de los bytes en orden little-endian (bit i = byte i / 8, bit i % 8);
+ * los bytes finales en cero se omiten.
+ */
+public record RoomFreeBusyDTO(
+    Long roomId,
+    LocalDate from,
+    LocalDate to,
+    LocalTime dayStart,
+    int granularityMinutes,
+    int slotsPerDay,
+    String busy
+) {}
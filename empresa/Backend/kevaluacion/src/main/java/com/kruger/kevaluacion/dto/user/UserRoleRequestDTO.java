@@ -0,0 +1,11 @@
+package com.kruger.kevaluacion.dto.user;
+
+import com.kruger.kevaluacion.entity.Role;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO para cambiar el rol de un usuario. Solo lo usará el ADMIN.
+ */
+public record UserRoleRequestDTO(
+        @NotNull Role role
+) {}
@@ -14,8 +14,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Reservation {
 
+    // Secuencia con asignación por bloques (pooled) para que Hibernate pueda agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,11 +34,15 @@ public class Reservation {
 
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    // Identificador compartido por las ocurrencias de una serie recurrente (null si es individual)
+    @Column(length = 36)
+    private String seriesId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
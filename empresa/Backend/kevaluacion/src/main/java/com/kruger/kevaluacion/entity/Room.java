@@ -36,10 +36,14 @@ public class Room {
 
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    // Avanza con cada alta o cancelación de reservas de la sala (ver RoomAvailabilityIndex)
+    @Column(name = "reservations_version", nullable = false)
+    private long reservationsVersion;
+
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL)
     private List<Reservation> reservations;
 }
\ No newline at end of file
@@ -31,6 +31,10 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
+    // Se incrementa al cambiar el rol: invalida los JWT emitidos antes (claim ver)
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     // Relaciones futuras:
     // Un usuario puede ser propietario de proyectos
     //@OneToMany(mappedBy = "owner", cascade = CascadeType.ALL)
@@ -0,0 +1,28 @@
+package com.kruger.kevaluacion.event;
+
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado cuando una reserva se crea o cambia de estado.
+ * Los oyentes lo reciben después del commit de la transacción.
+ */
+public record ReservationChangedEvent(
+        Long reservationId,
+        Long roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        ReservationStatus status
+) {
+    public static ReservationChangedEvent of(Reservation reservation) {
+        return new ReservationChangedEvent(
+                reservation.getId(),
+                reservation.getRoom().getId(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getStatus()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.kruger.kevaluacion.event;
+
+/**
+ * Evento publicado cuando una sala se crea, actualiza o se desactiva (soft delete).
+ */
+public record RoomChangedEvent(
+        Long roomId,
+        boolean active
+) {}
@@ -0,0 +1,8 @@
+package com.kruger.kevaluacion.event;
+
+/**
+ * Evento publicado cuando se crea un usuario o cambian sus datos.
+ */
+public record UserChangedEvent(
+        Long userId
+) {}
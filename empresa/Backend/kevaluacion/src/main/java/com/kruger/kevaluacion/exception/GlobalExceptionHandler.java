@@ -1,8 +1,10 @@
 package com.kruger.kevaluacion.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +26,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    // Login fallido o refresh token inválido, expirado o ya usado
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<ApiError> handleBadCredentials(BadCredentialsException ex) {
+        ApiError error = ApiError.builder()
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .message("Credenciales inválidas")
+                .timestamp(LocalDateTime.now())
+                .details(List.of(ex.getMessage()))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException ex) {
+        return retryLater(HttpStatus.TOO_MANY_REQUESTS, "Demasiadas solicitudes", ex.getMessage(),
+                ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiError> handleServiceBusy(ServiceBusyException ex) {
+        return retryLater(HttpStatus.SERVICE_UNAVAILABLE, "Servicio saturado", ex.getMessage(),
+                ex.getRetryAfterSeconds());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex) {
         List<String> detalles = ex.getBindingResult().getFieldErrors()
@@ -57,4 +84,18 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.badRequest().body(error);
     }
+
+    private static ResponseEntity<ApiError> retryLater(HttpStatus status, String message, String detail,
+                                                       long retryAfterSeconds) {
+        ApiError error = ApiError.builder()
+                .status(status.value())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .details(List.of(detail))
+                .build();
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
 }
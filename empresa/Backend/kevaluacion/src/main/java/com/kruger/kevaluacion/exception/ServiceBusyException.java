@@ -0,0 +1,17 @@
+package com.kruger.kevaluacion.exception;
+
+import lombok.Getter;
+
+/**
+ * El servidor descarta la petición por saturación (503); retryAfterSeconds va en la cabecera Retry-After.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
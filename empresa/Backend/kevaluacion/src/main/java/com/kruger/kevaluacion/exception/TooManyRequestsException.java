@@ -0,0 +1,17 @@
+package com.kruger.kevaluacion.exception;
+
+import lombok.Getter;
+
+/**
+ * Cliente por encima de su cuota (429); retryAfterSeconds va en la cabecera Retry-After.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kruger.kevaluacion.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Arriendo de trabajos sobre la tabla job_leases.
+ * Tomar el arriendo es un único UPDATE condicional, así que entre varios nodos
+ * solo uno lo consigue; si el nodo cae, el arriendo vence solo.
+ * Cada trabajo necesita su fila en job_leases (se crea en su migración).
+ */
+@Slf4j
+@Component
+public class JobLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    public JobLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Toma (o renueva) el arriendo si está libre, vencido o ya es de este nodo.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(
+                "UPDATE job_leases SET owner = ?, locked_until = ? " +
+                "WHERE name = ? AND (locked_until < ? OR owner = ?)",
+                owner, Timestamp.valueOf(now.plus(duration)), name, Timestamp.valueOf(now), owner);
+        if (updated == 0) {
+            log.debug("Arriendo {} en poder de otro nodo", name);
+        }
+        return updated > 0;
+    }
+
+    /**
+     * Libera el arriendo solo si sigue siendo de este nodo.
+     */
+    public void release(String name) {
+        jdbcTemplate.update(
+                "UPDATE job_leases SET owner = NULL, locked_until = ? WHERE name = ? AND owner = ?",
+                Timestamp.valueOf(LocalDateTime.now()), name, owner);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.kruger.kevaluacion.job;
+
+import com.kruger.kevaluacion.cache.ResourceVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mueve a reservations_archive las reservas COMPLETED/CANCELLED que terminaron antes del horizonte.
+ * Así reservations solo contiene el conjunto caliente y todas las consultas de ReservationRepository
+ * (conflictos, listados, findAll) quedan acotadas a esa ventana sin cambiar su código.
+ * Cada lote copia y borra los mismos ids en una transacción; las reservas ACTIVE nunca se archivan.
+ * Las reservas archivadas dejan de verse en los listados, en GET /reservations/{id} y en la exportación;
+ * su único camino de lectura es GET /reservations/archive (las del propio usuario).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jobs.reservation-archive.enabled", havingValue = "true")
+public class ReservationArchiveJob {
+
+    static final String LEASE_NAME = "reservation-archive";
+
+    private static final String SELECT_CANDIDATES =
+            "SELECT id FROM reservations WHERE status IN ('COMPLETED', 'CANCELLED') AND end_time < :horizon " +
+            "ORDER BY end_time LIMIT :limit";
+
+    private static final String COPY_TO_ARCHIVE =
+            "INSERT INTO reservations_archive " +
+            "(id, start_time, end_time, purpose, status, created_at, room_id, user_id, series_id, archived_at) " +
+            "SELECT id, start_time, end_time, purpose, status, created_at, room_id, user_id, series_id, :archivedAt " +
+            "FROM reservations WHERE id IN (:ids)";
+
+    private static final String DELETE_ARCHIVED = "DELETE FROM reservations WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JobLease jobLease;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration leaseDuration;
+    private final Counter archivedRows;
+
+    public ReservationArchiveJob(NamedParameterJdbcTemplate jdbcTemplate,
+                                 JobLease jobLease,
+                                 ResourceVersions resourceVersions,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.jobs.reservation-archive.horizon-days:180}") long horizonDays,
+                                 @Value("${app.jobs.reservation-archive.batch-size:1000}") int batchSize,
+                                 @Value("${app.jobs.reservation-archive.max-batches-per-run:100}") int maxBatchesPerRun,
+                                 @Value("${app.jobs.reservation-archive.lease-seconds:600}") long leaseSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLease = jobLease;
+        this.resourceVersions = resourceVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.horizon = Duration.ofDays(horizonDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.archivedRows = Counter.builder("reservations.archive.rows")
+                .description("Reservas movidas a reservations_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.jobs.reservation-archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!jobLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        try {
+            run(LocalDateTime.now().minus(horizon));
+        } finally {
+            jobLease.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Archiva las reservas cerradas que terminaron antes de {@code horizon}. Devuelve las filas movidas.
+     */
+    public int run(LocalDateTime horizon) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(horizon));
+            int rows = moved != null ? moved : 0;
+            total += rows;
+            archivedRows.increment(rows);
+            if (rows < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("{} reservas movidas a reservations_archive", total);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime horizon) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CANDIDATES, new MapSqlParameterSource()
+                .addValue("horizon", Timestamp.valueOf(horizon))
+                .addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(COPY_TO_ARCHIVE, params);
+        // Borrado masivo sin eventos de dominio: invalida los ETag de reservas en el mismo commit
+        resourceVersions.touch(ResourceVersions.Resource.RESERVATIONS);
+        return jdbcTemplate.update(DELETE_ARCHIVED, params);
+    }
+}
@@ -0,0 +1,114 @@
+package com.kruger.kevaluacion.job;
+
+import com.kruger.kevaluacion.cache.ResourceVersions;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pasa a COMPLETED las reservas ACTIVE que ya terminaron, en lotes acotados.
+ * Mantiene pequeño el conjunto ACTIVE que leen las validaciones de conflicto y los índices parciales.
+ * Es idempotente (solo toca filas ACTIVE) y un arriendo en job_leases evita ejecuciones en paralelo entre nodos.
+ * No publica eventos: una reserva terminada ya no entra en ninguna comprobación de conflicto.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jobs.reservation-completion.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationCompletionJob {
+
+    static final String LEASE_NAME = "reservation-completion";
+
+    private final ReservationRepository reservationRepository;
+    private final JobLease jobLease;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration leaseDuration;
+
+    private final Counter completedRows;
+    // Segundos desde el fin de la reserva activa terminada más antigua tras la última ejecución
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ReservationCompletionJob(ReservationRepository reservationRepository,
+                                    JobLease jobLease,
+                                    ResourceVersions resourceVersions,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.jobs.reservation-completion.batch-size:1000}") int batchSize,
+                                    @Value("${app.jobs.reservation-completion.max-batches-per-run:100}") int maxBatchesPerRun,
+                                    @Value("${app.jobs.reservation-completion.lease-seconds:300}") long leaseSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.jobLease = jobLease;
+        this.resourceVersions = resourceVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+
+        this.completedRows = Counter.builder("reservations.completion.rows")
+                .description("Reservas marcadas como COMPLETED")
+                .register(meterRegistry);
+        Gauge.builder("reservations.completion.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad en segundos de la reserva terminada más antigua aún ACTIVE")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.reservation-completion.fixed-delay-ms:60000}",
+               initialDelayString = "${app.jobs.reservation-completion.initial-delay-ms:30000}")
+    public void scheduledRun() {
+        if (!jobLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        try {
+            run(LocalDateTime.now());
+        } finally {
+            jobLease.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Completa las reservas terminadas antes de {@code cutoff}; cada lote es su propia transacción
+     * para no retener bloqueos sobre muchas filas. Devuelve el número de filas actualizadas.
+     */
+    public int run(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer updated = transactionTemplate.execute(status -> {
+                int rows = reservationRepository.completeEndedBatch(cutoff, batchSize);
+                if (rows > 0) {
+                    // Actualización masiva sin eventos de dominio: invalida los ETag de reservas en el mismo commit
+                    resourceVersions.touch(ResourceVersions.Resource.RESERVATIONS);
+                }
+                return rows;
+            });
+            int rows = updated != null ? updated : 0;
+            total += rows;
+            completedRows.increment(rows);
+            if (rows < batchSize) {
+                break;
+            }
+        }
+
+        lagSeconds.set(reservationRepository.findOldestEndedActive(cutoff)
+                .map(oldest -> Duration.between(oldest, cutoff).toSeconds())
+                .orElse(0L));
+
+        if (total > 0) {
+            log.info("{} reservas marcadas como COMPLETED", total);
+        }
+        return total;
+    }
+}
@@ -22,5 +22,6 @@ public interface ReservationMapper {
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "seriesId", ignore = true)
     Reservation toEntity(ReservationRequestDTO dto);
 }
\ No newline at end of file
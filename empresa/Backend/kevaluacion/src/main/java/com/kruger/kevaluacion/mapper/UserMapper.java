@@ -15,6 +15,7 @@ public interface UserMapper {
     UserResponseDTO toDTO(User user);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
    // @Mapping(target = "projects", ignore = true)
     // @Mapping(target = "tasks", ignore = true)
     User toEntity(UserRequestDTO dto);
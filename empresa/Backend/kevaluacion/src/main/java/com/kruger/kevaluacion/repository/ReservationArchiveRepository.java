@@ -0,0 +1,72 @@
+package com.kruger.kevaluacion.repository;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lectura de reservations_archive, que no tiene entidad JPA (la llena ReservationArchiveJob con SQL).
+ * Páginas por keyset (start_time, id) descendente sobre idx_reservations_archive_user_start.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationArchiveRepository {
+
+    // Sin claves foráneas en el archivo: LEFT JOIN por si la sala ya no existe
+    private static final String SELECT = "SELECT a.id, a.start_time, a.end_time, a.purpose, a.status, a.created_at, " +
+            "a.series_id, a.user_id, a.room_id, ro.name AS room_name, ro.location AS room_location, " +
+            "ro.capacity AS room_capacity " +
+            "FROM reservations_archive a LEFT JOIN rooms ro ON ro.id = a.room_id " +
+            "WHERE a.user_id = :userId ";
+
+    private static final String AFTER_CURSOR =
+            "AND (a.start_time < :cursorStart OR (a.start_time = :cursorStart AND a.id < :cursorId)) ";
+
+    private static final String ORDER = "ORDER BY a.start_time DESC, a.id DESC LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<ReservationResponseDTO> findPageByUser(Long userId, String username,
+                                                       LocalDateTime cursorStart, Long cursorId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        String sql = SELECT;
+        if (cursorStart != null) {
+            sql += AFTER_CURSOR;
+            params.addValue("cursorStart", Timestamp.valueOf(cursorStart)).addValue("cursorId", cursorId);
+        }
+        return jdbcTemplate.query(sql + ORDER, params, (rs, rowNum) -> toDTO(rs, username));
+    }
+
+    private static ReservationResponseDTO toDTO(ResultSet rs, String username) throws SQLException {
+        return new ReservationResponseDTO(
+                rs.getLong("id"),
+                rs.getTimestamp("start_time").toLocalDateTime(),
+                rs.getTimestamp("end_time").toLocalDateTime(),
+                rs.getString("purpose"),
+                ReservationStatus.valueOf(rs.getString("status")),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                rs.getLong("user_id"),
+                new ReservationResponseDTO.RoomSummaryDTO(
+                        rs.getLong("room_id"),
+                        rs.getString("room_name"),
+                        rs.getString("room_location"),
+                        rs.getObject("room_capacity", Integer.class)),
+                username,
+                rs.getString("series_id"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kruger.kevaluacion.repository;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listados de reservas no bloqueantes con R2DBC, en paralelo al camino JPA (que sigue haciendo las escrituras).
+ * Las filas se proyectan directamente al DTO; el fetch size hace que la base de datos entregue
+ * las filas a medida que el suscriptor las pide.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationReadRepository {
+
+    static final int FETCH_SIZE = 250;
+
+    private static final String SELECT = "SELECT r.id, r.start_time, r.end_time, r.purpose, r.status, r.created_at, " +
+            "r.series_id, u.id AS user_id, u.username, ro.id AS room_id, ro.name AS room_name, " +
+            "ro.location AS room_location, ro.capacity AS room_capacity " +
+            "FROM reservations r JOIN users u ON u.id = r.user_id JOIN rooms ro ON ro.id = r.room_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ReservationResponseDTO> findByUserId(Long userId) {
+        return databaseClient.sql(SELECT + "WHERE r.user_id = :userId ORDER BY r.start_time DESC, r.id DESC")
+                .bind("userId", userId)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    public Flux<ReservationResponseDTO> findAll() {
+        return databaseClient.sql(SELECT + "ORDER BY r.start_time DESC, r.id DESC")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    private static ReservationResponseDTO toDTO(Row row) {
+        return new ReservationResponseDTO(
+                row.get("id", Long.class),
+                row.get("start_time", LocalDateTime.class),
+                row.get("end_time", LocalDateTime.class),
+                row.get("purpose", String.class),
+                ReservationStatus.valueOf(row.get("status", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("user_id", Long.class),
+                new ReservationResponseDTO.RoomSummaryDTO(
+                        row.get("room_id", Long.class),
+                        row.get("room_name", String.class),
+                        row.get("room_location", String.class),
+                        row.get("room_capacity", Integer.class)),
+                row.get("username", String.class),
+                row.get("series_id", String.class));
+    }
+}
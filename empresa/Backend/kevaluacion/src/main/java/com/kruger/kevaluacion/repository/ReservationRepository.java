@@ -3,27 +3,56 @@ package com.kruger.kevaluacion.repository;
 import com.kruger.kevaluacion.entity.Reservation;
 import com.kruger.kevaluacion.entity.ReservationStatus;
 import com.kruger.kevaluacion.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    // Filtros comunes de los listados; un parámetro null desactiva su condición
+    String LISTING_FILTER = "(:userId IS NULL OR r.user.id = :userId) " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND (:roomId IS NULL OR r.room.id = :roomId) " +
+            "AND (:from IS NULL OR r.startTime >= :from) " +
+            "AND (:to IS NULL OR r.startTime < :to) ";
     
+    // Los listados cargan sala y usuario en la misma consulta (ReservationMapper los lee)
+    @Override
+    @EntityGraph(attributePaths = {"room", "user"})
+    Optional<Reservation> findById(Long id);
+
     // Buscar reservas por usuario
+    @EntityGraph(attributePaths = {"room", "user"})
     List<Reservation> findByUserOrderByStartTimeDesc(User user);
     
     // Buscar reservas por usuario y estado
+    @EntityGraph(attributePaths = {"room", "user"})
     List<Reservation> findByUserAndStatusOrderByStartTimeDesc(User user, ReservationStatus status);
     
     // Buscar todas las reservas ordenadas por fecha (para ADMIN)
+    @EntityGraph(attributePaths = {"room", "user"})
     List<Reservation> findAllByOrderByStartTimeDesc();
     
     // Buscar reservas por sala
+    @EntityGraph(attributePaths = {"room", "user"})
     List<Reservation> findByRoomIdOrderByStartTimeDesc(Long roomId);
+
+    // Reservas de una sala en un estado que aún no han terminado (carga del índice en memoria)
+    List<Reservation> findByRoomIdAndStatusAndEndTimeAfter(Long roomId, ReservationStatus status, LocalDateTime endTime);
     
     // Verificar si hay conflictos de horario para una sala
     @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.room.id = ?1 " +
@@ -35,4 +64,74 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r WHERE r.user = ?1 AND r.status = 'ACTIVE' " +
            "AND ((r.startTime <= ?3 AND r.endTime > ?2))")
     List<Reservation> findUserActiveReservationsInPeriod(User user, LocalDateTime startTime, LocalDateTime endTime);
-}
\ No newline at end of file
+
+    // Reservas activas de varias salas que se cruzan con un período (validación de lotes en memoria)
+    @Query("SELECT r FROM Reservation r WHERE r.room.id IN ?1 AND r.status = 'ACTIVE' " +
+           "AND r.startTime <= ?3 AND r.endTime > ?2")
+    List<Reservation> findActiveByRoomIdsInPeriod(Collection<Long> roomIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    // Solo los intervalos ocupados, ordenados por sala e inicio, sin cargar entidades (sugerencia de franjas)
+    @Query("SELECT r.room.id AS roomId, r.startTime AS startTime, r.endTime AS endTime FROM Reservation r " +
+           "WHERE r.room.id IN ?1 AND r.status = 'ACTIVE' AND r.startTime <= ?3 AND r.endTime > ?2 " +
+           "ORDER BY r.room.id, r.startTime")
+    List<BusyInterval> findActiveIntervalsByRoomIdsInPeriod(Collection<Long> roomIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    // Página por keyset sobre (startTime, id) descendente: no usa OFFSET ni COUNT
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.room JOIN FETCH r.user WHERE " + LISTING_FILTER +
+           "AND (:cursorStart IS NULL OR r.startTime < :cursorStart " +
+           "OR (r.startTime = :cursorStart AND r.id < :cursorId)) " +
+           "ORDER BY r.startTime DESC, r.id DESC")
+    List<Reservation> findPage(@Param("userId") Long userId,
+                               @Param("status") ReservationStatus status,
+                               @Param("roomId") Long roomId,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to,
+                               @Param("cursorStart") LocalDateTime cursorStart,
+                               @Param("cursorId") Long cursorId,
+                               Pageable pageable);
+
+    // Recorrido completo sin construir una lista; debe consumirse dentro de una transacción
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.room JOIN FETCH r.user WHERE " + LISTING_FILTER +
+           "ORDER BY r.startTime DESC, r.id DESC")
+    Stream<Reservation> streamFiltered(@Param("userId") Long userId,
+                                       @Param("status") ReservationStatus status,
+                                       @Param("roomId") Long roomId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    // Ocurrencias activas de una serie desde una fecha (null = toda la serie)
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.user WHERE r.seriesId = :seriesId AND r.status = 'ACTIVE' " +
+           "AND (:from IS NULL OR r.startTime >= :from)")
+    List<Reservation> findActiveBySeriesId(@Param("seriesId") String seriesId, @Param("from") LocalDateTime from);
+
+    // Cancelación de una serie con una sola sentencia UPDATE
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = com.kruger.kevaluacion.entity.ReservationStatus.CANCELLED " +
+           "WHERE r.seriesId = :seriesId AND r.status = 'ACTIVE' AND (:from IS NULL OR r.startTime >= :from)")
+    int cancelActiveBySeriesId(@Param("seriesId") String seriesId, @Param("from") LocalDateTime from);
+
+    // Cancelación de una reserva (u ocurrencia) sin cargarla de nuevo ni hacer merge
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = com.kruger.kevaluacion.entity.ReservationStatus.CANCELLED " +
+           "WHERE r.id = ?1 AND r.status = 'ACTIVE'")
+    int cancelActiveById(Long id);
+
+    // Marca COMPLETED un lote acotado de reservas activas ya terminadas (ReservationCompletionJob)
+    @Modifying
+    @Query(value = "UPDATE reservations SET status = 'COMPLETED' WHERE id IN (" +
+                   "SELECT id FROM reservations WHERE status = 'ACTIVE' AND end_time <= ?1 " +
+                   "ORDER BY end_time LIMIT ?2)", nativeQuery = true)
+    int completeEndedBatch(LocalDateTime cutoff, int batchSize);
+
+    // Fin más antiguo entre las reservas activas ya terminadas (retraso del trabajo)
+    @Query("SELECT MIN(r.endTime) FROM Reservation r WHERE r.status = 'ACTIVE' AND r.endTime <= ?1")
+    Optional<LocalDateTime> findOldestEndedActive(LocalDateTime cutoff);
+
+    // Proyección de findActiveIntervalsByRoomIdsInPeriod
+    interface BusyInterval {
+        Long getRoomId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
+}
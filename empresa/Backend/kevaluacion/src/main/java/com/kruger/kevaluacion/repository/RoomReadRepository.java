@@ -0,0 +1,50 @@
+package com.kruger.kevaluacion.repository;
+
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Disponibilidad de salas no bloqueante con R2DBC; mismo anti-join que RoomRepository.findAvailableRooms.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoomReadRepository {
+
+    private static final String AVAILABLE = "SELECT ro.id, ro.name, ro.description, ro.capacity, ro.location, " +
+            "ro.equipment, ro.active, ro.created_at, u.username AS created_by " +
+            "FROM rooms ro JOIN users u ON u.id = ro.created_by " +
+            "WHERE ro.active = TRUE AND NOT EXISTS (SELECT 1 FROM reservations res " +
+            "WHERE res.room_id = ro.id AND res.status = 'ACTIVE' " +
+            "AND res.start_time <= :endTime AND res.end_time > :startTime) " +
+            "ORDER BY ro.id";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<RoomResponseDTO> findAvailableRooms(LocalDateTime startTime, LocalDateTime endTime) {
+        return databaseClient.sql(AVAILABLE)
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .filter(statement -> statement.fetchSize(ReservationReadRepository.FETCH_SIZE))
+                .map((row, metadata) -> toDTO(row))
+                .all();
+    }
+
+    private static RoomResponseDTO toDTO(Row row) {
+        return new RoomResponseDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("capacity", Integer.class),
+                row.get("location", String.class),
+                row.get("equipment", String.class),
+                row.get("active", Boolean.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("created_by", String.class));
+    }
+}
@@ -1,27 +1,71 @@
 package com.kruger.kevaluacion.repository;
 
 import com.kruger.kevaluacion.entity.Room;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
+
+    // Anti-join: la sala no tiene reservas ACTIVAS que se crucen con [:startTime, :endTime].
+    // Se resuelve por sala con el índice (room_id, start_time, end_time) de reservas activas.
+    String NO_ACTIVE_RESERVATION_IN_WINDOW = "NOT EXISTS (SELECT 1 FROM Reservation res " +
+            "WHERE res.room = r AND res.status = 'ACTIVE' " +
+            "AND res.startTime <= :endTime AND res.endTime > :startTime)";
+
+    // Filtros de búsqueda; una cadena vacía desactiva el filtro de texto
+    String SEARCH_FILTER = "r.active = true AND r.capacity >= :minCapacity " +
+            "AND (:location = '' OR LOWER(r.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+            "AND (:equipment = '' OR LOWER(r.equipment) LIKE LOWER(CONCAT('%', :equipment, '%'))) ";
     
+    // Obtener una sala bloqueando su fila (SELECT ... FOR UPDATE) hasta el fin de la transacción.
+    // Serializa las reservas de una misma sala sin bloquear a las demás salas.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = ?1")
+    Optional<Room> findByIdForUpdate(Long id);
+
+    // RoomMapper lee createdBy.username: se carga junto con la sala
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<Room> findById(Long id);
+
     // Buscar salas activas
+    @EntityGraph(attributePaths = "createdBy")
     List<Room> findByActiveTrue();
     
     // Buscar salas por nombre (ignorando mayúsculas/minúsculas)
+    @EntityGraph(attributePaths = "createdBy")
     List<Room> findByNameContainingIgnoreCase(String name);
     
     // Buscar salas por capacidad mínima
+    @EntityGraph(attributePaths = "createdBy")
     List<Room> findByCapacityGreaterThanEqualAndActiveTrue(Integer capacity);
     
     // Buscar salas disponibles en un período de tiempo específico
-    @Query("SELECT r FROM Room r WHERE r.active = true AND r.id NOT IN " +
-           "(SELECT res.room.id FROM Reservation res WHERE res.status = 'ACTIVE' " +
-           "AND ((res.startTime <= ?2 AND res.endTime > ?1)))")
-    List<Room> findAvailableRooms(java.time.LocalDateTime startTime, java.time.LocalDateTime endTime);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT r FROM Room r WHERE r.active = true AND " + NO_ACTIVE_RESERVATION_IN_WINDOW)
+    List<Room> findAvailableRooms(@Param("startTime") LocalDateTime startTime,
+                                  @Param("endTime") LocalDateTime endTime);
+
+    // Búsqueda paginada de salas disponibles con filtros de capacidad, ubicación y equipamiento
+    @EntityGraph(attributePaths = "createdBy")
+    @Query(value = "SELECT r FROM Room r WHERE " + SEARCH_FILTER + "AND " + NO_ACTIVE_RESERVATION_IN_WINDOW,
+           countQuery = "SELECT COUNT(r) FROM Room r WHERE " + SEARCH_FILTER + "AND " + NO_ACTIVE_RESERVATION_IN_WINDOW)
+    Page<Room> searchAvailableRooms(@Param("startTime") LocalDateTime startTime,
+                                    @Param("endTime") LocalDateTime endTime,
+                                    @Param("minCapacity") int minCapacity,
+                                    @Param("location") String location,
+                                    @Param("equipment") String equipment,
+                                    Pageable pageable);
+}
@@ -2,7 +2,9 @@ package com.kruger.kevaluacion.repository;
 
 import com.kruger.kevaluacion.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,4 +19,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    // Usuarios con tokens invalidados alguna vez (versión > 0), para TokenVersions
+    @Query("SELECT u.id AS id, u.username AS username, u.tokenVersion AS tokenVersion " +
+            "FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersion> findBumpedTokenVersions();
+
+    // Proyección de findBumpedTokenVersions
+    interface TokenVersion {
+        Long getId();
+        String getUsername();
+        int getTokenVersion();
+    }
 }
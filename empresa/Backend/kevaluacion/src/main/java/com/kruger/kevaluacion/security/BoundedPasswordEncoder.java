@@ -0,0 +1,103 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt ejecutado en un pool propio y acotado, no en el hilo de la petición.
+ * Una ráfaga de logins solo ocupa esos hilos de CPU: lo que no cabe en la cola se rechaza
+ * con 503 en lugar de retener hilos de Tomcat que necesitan el resto de endpoints.
+ * Cola, hilos activos y tiempos se publican como executor.* con name=password.hashing.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate = new BCryptPasswordEncoder();
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(@Value("${app.security.password-hashing.threads:0}") int threads,
+                                  @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.password-hashing.timeout-ms:5000}") long timeoutMillis,
+                                  MeterRegistry meterRegistry) {
+        // 0 = la mitad de los núcleos: BCrypt nunca se queda con toda la CPU
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Demasiadas autenticaciones en curso, reintente en unos segundos",
+                    RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Tiempo de espera agotado verificando la contraseña", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Verificación de contraseña interrumpida", RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Obtiene la entidad User del usuario autenticado.
+ * Reutiliza la que JwtAuthFilter ya dejó en el contexto de seguridad y solo
+ * recurre a la caché de usuarios si el principal es de otro tipo.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final PrincipalCache principalCache;
+
+    public User resolve(UserDetails userDetails) {
+        if (userDetails instanceof UserDetailsImpl details) {
+            return details.getUser();
+        }
+        return principalCache.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+    }
+}
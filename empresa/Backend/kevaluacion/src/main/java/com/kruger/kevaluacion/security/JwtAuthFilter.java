@@ -1,12 +1,13 @@
 package com.kruger.kevaluacion.security;
 
 import com.kruger.kevaluacion.entity.User;
-import com.kruger.kevaluacion.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,16 +16,33 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro que intercepta todas las peticiones y valida el token JWT.
+ * Solo acepta tokens de acceso no revocados; la revocación se comprueba en memoria (TokenRevocationList).
+ * Si el token trae id, rol y versión del usuario, la autenticación no consulta la base de datos.
+ * El tiempo de autenticación (sin el resto de la cadena) se mide en security.jwt.filter.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
+    private final TokenVersions tokenVersions;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtAuthFilter(JwtService jwtService, PrincipalCache principalCache, TokenRevocationList revocationList,
+                         TokenVersions tokenVersions, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.principalCache = principalCache;
+        this.revocationList = revocationList;
+        this.tokenVersions = tokenVersions;
+        this.authenticatedTimer = filterTimer(meterRegistry, "authenticated");
+        this.rejectedTimer = filterTimer(meterRegistry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,29 +51,56 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        // Un único parseo verifica firma y expiración; tokens inválidos siguen sin autenticar
+        final long start = System.nanoTime();
+        final String jwt = authHeader.substring(7);
+        final Claims claims = jwtService.validateToken(jwt, JwtService.TYPE_ACCESS)
+                .filter(verified -> !revocationList.isRevoked(verified.getId()))
+                .orElse(null);
+        final String username = claims != null ? claims.getSubject() : null;
 
+        boolean authenticated = false;
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user != null && jwtService.isTokenValid(jwt, user.getUsername())) {
-                UserDetailsImpl userDetails = new UserDetailsImpl(user);
+            UserDetailsImpl userDetails = resolvePrincipal(claims);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                authenticated = true;
             }
         }
+        (authenticated ? authenticatedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Con claims uid/role/ver el principal sale del token (sin consultas) si su versión sigue vigente;
+     * los tokens emitidos solo con el username cargan el usuario desde PrincipalCache.
+     */
+    private UserDetailsImpl resolvePrincipal(Claims claims) {
+        UserDetailsImpl fromToken = UserDetailsImpl.fromClaims(claims);
+        if (fromToken != null) {
+            User user = fromToken.getUser();
+            return tokenVersions.isCurrent(user.getId(), user.getTokenVersion()) ? fromToken : null;
+        }
+        return principalCache.findByUsername(claims.getSubject())
+                .map(UserDetailsImpl::new)
+                .orElse(null);
+    }
+
+    private static Timer filterTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.filter")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -1,28 +1,116 @@
 package com.kruger.kevaluacion.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.kruger.kevaluacion.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * Servicio que maneja la generación y validación de tokens JWT.
+ * La clave y el parser se construyen una sola vez (ambos son thread-safe) y los
+ * tokens ya verificados se guardan en una pequeña LRU hasta su expiración, indexados por el SHA-256
+ * del token: la caché no retiene en memoria tokens utilizables.
+ * Cada validación se mide en security.jwt.validation, etiquetada por resultado.
+ * Emite tokens de acceso de vida corta y refresh tokens de vida larga; ambos llevan un jti
+ * (para poder revocarlos, ver TokenRevocationList) y su tipo en el claim typ.
+ * Los de acceso emitidos para un User firman además su id, rol y versión de token (uid, role, ver),
+ * de modo que JwtAuthFilter construye el principal sin consultar la base de datos.
  */
 @Service
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secretKey;
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationMillis;
+    private final long jwtExpirationMillis;
+    private final long refreshExpirationMillis;
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    // SHA-256 del token -> claims verificados; null si la caché está deshabilitada (tamaño 0)
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
+
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
+
+    public JwtService(@Value("${app.jwt.secret}") String secretKey,
+                      @Value("${app.jwt.expiration}") long jwtExpirationMillis,
+                      @Value("${app.jwt.refresh-expiration:604800000}") long refreshExpirationMillis,
+                      @Value("${app.jwt.verified-cache-size:1024}") long verifiedCacheSize,
+                      MeterRegistry meterRegistry) {
+        this.jwtExpirationMillis = jwtExpirationMillis;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
+        this.cachedTimer = validationTimer(meterRegistry, "cached");
+        this.verifiedTimer = validationTimer(meterRegistry, "verified");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+    }
+
+    /**
+     * Verifica firma y expiración con un único parseo.
+     * Devuelve los claims (de solo lectura para el llamador) o vacío si el token no es válido.
+     */
+    public Optional<Claims> validateToken(String token) {
+        long start = System.nanoTime();
+        ByteBuffer key = verifiedTokens != null && token != null ? digest(token) : null;
+        if (key != null) {
+            Claims cached = verifiedTokens.getIfPresent(key);
+            if (cached != null && !isExpired(cached)) {
+                cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.of(cached);
+            }
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (key != null) {
+                verifiedTokens.put(key, claims);
+            }
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Como validateToken, pero además exige el tipo indicado (TYPE_ACCESS o TYPE_REFRESH):
+     * un refresh token no sirve para autenticar peticiones ni un token de acceso para renovar.
+     */
+    public Optional<Claims> validateToken(String token, String type) {
+        return validateToken(token).filter(claims -> type.equals(claims.get(CLAIM_TYPE, String.class)));
     }
 
     public String extractUsername(String token) {
@@ -34,33 +122,89 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return validateToken(token)
+                .map(claimsResolver)
+                .orElseThrow(() -> new JwtException("Token inválido o expirado"));
+    }
+
+    // Sin uid/role: JwtAuthFilter tendrá que cargar el usuario (PrincipalCache)
+    public String generateToken(String username) {
+        return builder(username, TYPE_ACCESS, jwtExpirationMillis).compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String generateToken(User user) {
+        return builder(user.getUsername(), TYPE_ACCESS, jwtExpirationMillis)
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // El refresh vuelve a leer el usuario, así que no necesita más que el subject
+    public String generateRefreshToken(String username) {
+        return builder(username, TYPE_REFRESH, refreshExpirationMillis).compact();
     }
 
-    public String generateToken(String username) {
+    private JwtBuilder builder(String username, String type, long validityMillis) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMillis))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .claim(CLAIM_TYPE, type)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256);
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return validateToken(token)
+                .map(claims -> username.equals(claims.getSubject()))
+                .orElse(false);
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.jwt.validation")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    /**
+     * Cada token permanece en la caché como máximo hasta su propia expiración.
+     */
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
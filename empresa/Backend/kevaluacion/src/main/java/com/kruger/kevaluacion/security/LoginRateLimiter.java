@@ -0,0 +1,79 @@
+package com.kruger.kevaluacion.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kruger.kevaluacion.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita /auth/** con una cubeta de tokens por IP y otra por username, antes de llegar a BCrypt.
+ * Las cubetas inactivas se descartan solas; cada rechazo suma en security.auth.throttled{scope}.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+    private static final long MAX_TRACKED_KEYS = 100_000;
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> userBuckets;
+    private final long ipCapacity;
+    private final long ipRefillPerMinute;
+    private final long userCapacity;
+    private final long userRefillPerMinute;
+    private final Counter ipThrottled;
+    private final Counter userThrottled;
+
+    public LoginRateLimiter(@Value("${app.security.login-rate.ip.capacity:300}") long ipCapacity,
+                            @Value("${app.security.login-rate.ip.refill-per-minute:600}") long ipRefillPerMinute,
+                            @Value("${app.security.login-rate.user.capacity:5}") long userCapacity,
+                            @Value("${app.security.login-rate.user.refill-per-minute:10}") long userRefillPerMinute,
+                            MeterRegistry meterRegistry) {
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerMinute = ipRefillPerMinute;
+        this.userCapacity = userCapacity;
+        this.userRefillPerMinute = userRefillPerMinute;
+        this.ipBuckets = newBuckets();
+        this.userBuckets = newBuckets();
+        this.ipThrottled = meterRegistry.counter("security.auth.throttled", "scope", "ip");
+        this.userThrottled = meterRegistry.counter("security.auth.throttled", "scope", "user");
+    }
+
+    public void checkLogin(String clientIp, String username) {
+        checkIp(clientIp);
+        long wait = userBuckets.get(username, key -> new TokenBucket(userCapacity, userRefillPerMinute, System.nanoTime()))
+                .tryConsume(System.nanoTime());
+        if (wait > 0) {
+            userThrottled.increment();
+            throw new TooManyRequestsException("Demasiados intentos de inicio de sesión para este usuario",
+                    toRetryAfterSeconds(wait));
+        }
+    }
+
+    public void checkIp(String clientIp) {
+        long wait = ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerMinute, System.nanoTime()))
+                .tryConsume(System.nanoTime());
+        if (wait > 0) {
+            ipThrottled.increment();
+            throw new TooManyRequestsException("Demasiadas solicitudes de autenticación desde esta dirección",
+                    toRetryAfterSeconds(wait));
+        }
+    }
+
+    private static Cache<String, TokenBucket> newBuckets() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterAccess(IDLE_EXPIRY)
+                .build();
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
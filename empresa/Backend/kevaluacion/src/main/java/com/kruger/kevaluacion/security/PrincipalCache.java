@@ -0,0 +1,62 @@
+package com.kruger.kevaluacion.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Caché acotada de usuarios autenticados, indexada por username.
+ * Evita consultar la tabla users en cada petición con JWT. Las entradas expiran
+ * por TTL y se invalidan explícitamente cuando el usuario se crea o cambia.
+ * Aciertos, fallos y desalojos se publican como métricas cache.* con cache=principals.
+ * La consulta a la BD se hace fuera del lock del mapa (caché asíncrona completada por el llamador):
+ * con hilos virtuales (perfil virtual) un JDBC dentro de un bloque synchronized fijaría el hilo portador.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, User> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "principals");
+    }
+
+    public Optional<User> findByUsername(String username) {
+        // Solo el primer llamador consulta; los concurrentes esperan el mismo futuro
+        CompletableFuture<User> loading = new CompletableFuture<>();
+        CompletableFuture<User> entry = cache.get(username, (key, executor) -> loading);
+        if (entry == loading) {
+            try {
+                // Los usuarios inexistentes no se cachean (un futuro completado con null se descarta)
+                loading.complete(userRepository.findByUsername(username).orElse(null));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return Optional.ofNullable(entry.join());
+    }
+
+    public void evict(String username) {
+        cache.synchronous().invalidate(username);
+    }
+}
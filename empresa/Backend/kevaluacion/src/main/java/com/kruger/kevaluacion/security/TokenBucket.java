@@ -0,0 +1,38 @@
+package com.kruger.kevaluacion.security;
+
+/**
+ * Cubeta de tokens con recarga continua: admite ráfagas de hasta {@code capacity}
+ * y después {@code refillPerMinute} operaciones por minuto.
+ */
+final class TokenBucket {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(long capacity, long refillPerMinute, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillPerMinute / NANOS_PER_MINUTE;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Consume un token si hay; si no, devuelve los nanosegundos hasta el siguiente (siempre > 0).
+     * Devuelve 0 cuando el token se consumió.
+     */
+    synchronized long tryConsume(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+}
@@ -0,0 +1,150 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.cache.CacheInvalidationChannel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tokens revocados (por jti) hasta su expiración, consultados en cada petición sin ir a la base de datos.
+ * Un filtro de Bloom descarta casi todos los tokens válidos sin tocar el mapa; solo sus positivos
+ * se confirman contra el mapa jti -> expiración. Las revocaciones se guardan en revoked_tokens y
+ * se recargan al arrancar. Cada instancia lee periódicamente las filas nuevas (revoked_at), así una
+ * revocación hecha en otro nodo se aplica aquí en como mucho app.security.revocation.sync-interval-ms;
+ * CacheInvalidationChannel solo adelanta esa lectura cuando hay una implementación que cruce nodos.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    static final String CHANNEL = "revoked-tokens";
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Margen para revocaciones de otros nodos con relojes ligeramente desfasados
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final int minimumCapacity;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Altas y reconstrucciones del filtro se serializan; las consultas no toman el lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime syncedUntil;
+
+    public TokenRevocationList(JdbcTemplate jdbcTemplate,
+                               CacheInvalidationChannel invalidationChannel,
+                               @Value("${app.security.revocation.expected-tokens:10000}") int minimumCapacity,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.minimumCapacity = minimumCapacity;
+        this.filter = new BloomFilter(minimumCapacity, FALSE_POSITIVE_RATE);
+
+        // Flyway ya migró: el JdbcTemplate depende de la inicialización de la base de datos
+        this.syncedUntil = LocalDateTime.now();
+        int loaded = load(jdbcTemplate.query(
+                "SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?",
+                (rs, rowNum) -> Map.entry(rs.getString(1), rs.getTimestamp(2).getTime()),
+                Timestamp.valueOf(syncedUntil)));
+        log.info("Revocaciones de tokens cargadas: {}", loaded);
+
+        invalidationChannel.subscribe(CHANNEL, this::syncRecent);
+        meterRegistry.gaugeMapSize("security.jwt.revoked", Tags.empty(), revoked);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revoca el token hasta su expiración. Devuelve false si ya estaba revocado (por esta u otra instancia),
+     * lo que permite usar la revocación como consumo único de un refresh token.
+     */
+    public boolean revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return false;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (?, ?, ?)",
+                    jti, new Timestamp(expiresAt.getTime()), Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        add(jti, expiresAt.getTime());
+        invalidationChannel.publish(CHANNEL);
+        return true;
+    }
+
+    /**
+     * Olvida las revocaciones ya expiradas (el token sería rechazado igualmente) y reconstruye el filtro,
+     * que no admite borrados, con el tamaño adecuado al conjunto vigente.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            rebuild(revoked.size());
+        } finally {
+            writeLock.unlock();
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", new Timestamp(now));
+        log.debug("Revocaciones expiradas eliminadas: {}", deleted);
+    }
+
+    // Trae las revocaciones recientes hechas por cualquier instancia (incluida esta, sin efecto)
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval-ms:5000}")
+    public synchronized void syncRecent() {
+        LocalDateTime since = syncedUntil.minus(SYNC_OVERLAP);
+        syncedUntil = LocalDateTime.now();
+        load(jdbcTemplate.query(
+                "SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?",
+                (rs, rowNum) -> Map.entry(rs.getString(1), rs.getTimestamp(2).getTime()),
+                Timestamp.valueOf(since), Timestamp.valueOf(syncedUntil)));
+    }
+
+    private int load(List<Map.Entry<String, Long>> entries) {
+        entries.forEach(entry -> add(entry.getKey(), entry.getValue()));
+        return entries.size();
+    }
+
+    private void add(String jti, long expiresAt) {
+        writeLock.lock();
+        try {
+            if (revoked.put(jti, expiresAt) == null && revoked.size() > filter.expectedInsertions()) {
+                rebuild(revoked.size());
+            } else {
+                filter.put(jti);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Con el lock tomado: el filtro nuevo contiene todo el mapa antes de publicarse
+    private void rebuild(int size) {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minimumCapacity, size * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.cache.CacheInvalidationChannel;
+import com.kruger.kevaluacion.repository.UserRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versión mínima de token aceptada por usuario, en memoria, para validar el claim ver sin consultar users.
+ * Solo se guardan los usuarios cuya versión subió alguna vez (cambio de rol); el resto acepta la versión 0.
+ * Se carga al arrancar y cada instancia relee users.token_version periódicamente, así un cambio de rol hecho
+ * en otro nodo se aplica aquí en como mucho app.security.token-versions.sync-interval-ms: los tokens anteriores
+ * se rechazan y el usuario sale de PrincipalCache. CacheInvalidationChannel solo adelanta esa lectura.
+ */
+@Component
+public class TokenVersions {
+
+    static final String CHANNEL = "token-versions";
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final Map<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    public TokenVersions(UserRepository userRepository, PrincipalCache principalCache,
+                         CacheInvalidationChannel invalidationChannel) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.invalidationChannel = invalidationChannel;
+        sync();
+        invalidationChannel.subscribe(CHANNEL, this::sync);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= minimumVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Registra la nueva versión de un usuario (ya guardada) y avisa a las demás instancias.
+     */
+    public void bump(Long userId, int tokenVersion) {
+        minimumVersions.merge(userId, tokenVersion, Math::max);
+        invalidationChannel.publish(CHANNEL);
+    }
+
+    // Las versiones solo suben: cada subida vista por primera vez en este nodo desaloja al usuario de la caché
+    @Scheduled(fixedDelayString = "${app.security.token-versions.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        userRepository.findBumpedTokenVersions().forEach(version -> {
+            Integer previous = minimumVersions.get(version.getId());
+            if (previous == null || previous < version.getTokenVersion()) {
+                minimumVersions.merge(version.getId(), version.getTokenVersion(), Math::max);
+                principalCache.evict(version.getUsername());
+            }
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package com.kruger.kevaluacion.security;
 
+import com.kruger.kevaluacion.entity.Role;
 import com.kruger.kevaluacion.entity.User;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,6 +19,27 @@ public class UserDetailsImpl implements UserDetails {
 
     private final User user;
 
+    /**
+     * Principal construido solo con los claims firmados del token (uid, role, ver), sin consultar la base de datos.
+     * El User resultante no está gestionado por JPA y solo trae id, username, rol y versión: sirve para
+     * autorizar y para referenciar al usuario desde otras entidades, nunca para guardarlo.
+     * Devuelve null si el token no trae esos claims (emitido solo con el username).
+     */
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtService.CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(JwtService.CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        return new UserDetailsImpl(User.builder()
+                .id(userId)
+                .username(claims.getSubject())
+                .role(Role.valueOf(role))
+                .tokenVersion(tokenVersion)
+                .build());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
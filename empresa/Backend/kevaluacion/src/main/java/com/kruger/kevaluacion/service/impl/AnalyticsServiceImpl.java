@@ -0,0 +1,47 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.dto.analytics.RoomUtilizationDTO;
+import com.kruger.kevaluacion.dto.analytics.UtilizationRebuildDTO;
+import com.kruger.kevaluacion.service.interfaces.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final UtilizationAggregate utilizationAggregate;
+
+    @Override
+    public List<RoomUtilizationDTO> findUtilization() {
+        return utilizationAggregate.snapshot().entrySet().stream()
+                .map(entry -> toDTO(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(RoomUtilizationDTO::roomId))
+                .toList();
+    }
+
+    @Override
+    public RoomUtilizationDTO findUtilization(Long roomId) {
+        // Una sala sin reservas no tiene entrada en el agregado: ocupación cero
+        long[] buckets = utilizationAggregate.snapshot(roomId).orElseGet(() -> new long[UtilizationAggregate.BUCKETS]);
+        return toDTO(roomId, buckets);
+    }
+
+    @Override
+    public UtilizationRebuildDTO rebuildUtilization() {
+        long start = System.nanoTime();
+        int rooms = utilizationAggregate.rebuild();
+        return new UtilizationRebuildDTO(rooms, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static RoomUtilizationDTO toDTO(Long roomId, long[] buckets) {
+        long[][] byDay = new long[7][UtilizationAggregate.SLOTS_PER_DAY];
+        for (int day = 0; day < 7; day++) {
+            System.arraycopy(buckets, day * UtilizationAggregate.SLOTS_PER_DAY, byDay[day], 0, UtilizationAggregate.SLOTS_PER_DAY);
+        }
+        return new RoomUtilizationDTO(roomId, UtilizationAggregate.SLOT_MINUTES, byDay);
+    }
+}
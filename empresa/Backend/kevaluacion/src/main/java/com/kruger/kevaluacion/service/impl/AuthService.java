@@ -2,14 +2,21 @@ package com.kruger.kevaluacion.service.impl;
 
 import com.kruger.kevaluacion.dto.auth.AuthRequest;
 import com.kruger.kevaluacion.dto.auth.AuthResponse;
+import com.kruger.kevaluacion.dto.auth.RefreshRequest;
 import com.kruger.kevaluacion.dto.auth.RegisterRequest;
 import com.kruger.kevaluacion.entity.Role;
 import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.event.UserChangedEvent;
 import com.kruger.kevaluacion.repository.UserRepository;
 import com.kruger.kevaluacion.security.JwtService;
+import com.kruger.kevaluacion.security.PrincipalCache;
+import com.kruger.kevaluacion.security.TokenRevocationList;
 import com.kruger.kevaluacion.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,6 +29,9 @@ public class AuthService {
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenRevocationList revocationList;
 
     public AuthResponse login(AuthRequest request) {
         authenticationManager.authenticate(
@@ -31,12 +41,7 @@ public class AuthService {
         var user = userRepository.findByUsername(request.username())
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        String token = jwtService.generateToken(user.getUsername());
-        return new AuthResponse(
-                token,
-                user.getUsername(),
-                user.getRole().name()
-        );
+        return issueTokens(user);
     }
 
     public AuthResponse register(RegisterRequest request) {
@@ -53,11 +58,47 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
-        String token = jwtService.generateToken(user.getUsername());
+        principalCache.evict(user.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        return issueTokens(user);
+    }
+
+    /**
+     * Cambia un refresh token vigente por un par nuevo. El usado queda revocado: cada refresh token
+     * sirve una sola vez, y de dos renovaciones simultáneas con el mismo token solo una lo consigue.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        Claims claims = jwtService.validateToken(request.refreshToken(), JwtService.TYPE_REFRESH)
+                .filter(verified -> !revocationList.isRevoked(verified.getId()))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido, expirado o revocado"));
+
+        User user = principalCache.findByUsername(claims.getSubject())
+                .orElseThrow(() -> new BadCredentialsException("Usuario no encontrado"));
+
+        if (!revocationList.revoke(claims.getId(), claims.getExpiration())) {
+            throw new BadCredentialsException("Refresh token inválido, expirado o revocado");
+        }
+        return issueTokens(user);
+    }
+
+    /**
+     * Revoca el refresh token y, si se envía, el token de acceso en uso; tokens ya inválidos se ignoran.
+     */
+    public void logout(RefreshRequest request, String accessToken) {
+        jwtService.validateToken(request.refreshToken(), JwtService.TYPE_REFRESH)
+                .ifPresent(claims -> revocationList.revoke(claims.getId(), claims.getExpiration()));
+        if (accessToken != null) {
+            jwtService.validateToken(accessToken, JwtService.TYPE_ACCESS)
+                    .ifPresent(claims -> revocationList.revoke(claims.getId(), claims.getExpiration()));
+        }
+    }
+
+    private AuthResponse issueTokens(User user) {
         return new AuthResponse(
-                token,
+                jwtService.generateToken(user),
                 user.getUsername(),
-                user.getRole().name()
+                user.getRole().name(),
+                jwtService.generateRefreshToken(user.getUsername())
         );
     }
 }
@@ -0,0 +1,29 @@
+package com.kruger.kevaluacion.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Horario laboral en el que se permiten reservas (8:00 - 18:00).
+ * Lo comparten la validación de reservas y la grilla de franjas de disponibilidad.
+ */
+final class BusinessHours {
+
+    static final int OPENING_HOUR = 8;
+    static final int CLOSING_HOUR = 18;
+    static final int MINUTES_PER_DAY = (CLOSING_HOUR - OPENING_HOUR) * 60;
+
+    private static final LocalTime OPENING = LocalTime.of(OPENING_HOUR, 0);
+    private static final LocalTime CLOSING = LocalTime.of(CLOSING_HOUR, 0);
+
+    private BusinessHours() {
+    }
+
+    /**
+     * Regla de validateReservationTime: la reserva empieza a partir de las 8:00 y termina a más tardar
+     * a las 18:00 (se compara solo la hora del día de inicio y de fin), igual que la grilla de franjas.
+     */
+    static boolean contains(LocalDateTime startTime, LocalDateTime endTime) {
+        return !startTime.toLocalTime().isBefore(OPENING) && !endTime.toLocalTime().isAfter(CLOSING);
+    }
+}
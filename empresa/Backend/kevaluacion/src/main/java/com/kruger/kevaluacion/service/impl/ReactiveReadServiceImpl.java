@@ -0,0 +1,55 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationReadRepository;
+import com.kruger.kevaluacion.repository.RoomReadRepository;
+import com.kruger.kevaluacion.security.CurrentUserResolver;
+import com.kruger.kevaluacion.service.interfaces.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lecturas por R2DBC. El usuario se resuelve antes de devolver el Flux (viene del contexto de seguridad,
+ * sin consulta), así que nada bloquea el hilo de la petición mientras la base de datos responde.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadServiceImpl implements ReactiveReadService {
+
+    private final RoomReadRepository roomReadRepository;
+    private final ReservationReadRepository reservationReadRepository;
+    private final CurrentUserResolver currentUserResolver;
+
+    @Override
+    public Flux<RoomResponseDTO> findAvailableRooms(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime.isAfter(endTime)) {
+            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha de fin");
+        }
+        return roomReadRepository.findAvailableRooms(startTime, endTime);
+    }
+
+    @Override
+    public Flux<ReservationResponseDTO> findByUser(UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+        return reservationReadRepository.findByUserId(user.getId());
+    }
+
+    @Override
+    public Flux<ReservationResponseDTO> findAll(UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+
+        // Solo ADMIN puede ver todas las reservas
+        if (user.getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("Solo los administradores pueden ver todas las reservas");
+        }
+        return reservationReadRepository.findAll();
+    }
+}
@@ -0,0 +1,47 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.dto.reservation.RecurrenceRuleDTO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Expande una regla de repetición en ocurrencias de forma perezosa.
+ * Cada ocurrencia se calcula desde la primera (no desde la anterior), así las
+ * series mensuales no se desplazan al pasar por meses cortos.
+ */
+final class RecurrenceExpander {
+
+    static final int MAX_OCCURRENCES = 366;
+
+    private RecurrenceExpander() {
+    }
+
+    static Stream<TimeSlot> occurrences(LocalDateTime startTime, LocalDateTime endTime, RecurrenceRuleDTO rule) {
+        if (rule.until() == null && rule.count() == null) {
+            throw new IllegalArgumentException("La serie debe indicar una fecha límite (until) o un número de ocurrencias (count)");
+        }
+
+        Duration length = Duration.between(startTime, endTime);
+        long interval = rule.interval() != null ? rule.interval() : 1;
+        int limit = rule.count() != null ? Math.min(rule.count(), MAX_OCCURRENCES) : MAX_OCCURRENCES;
+
+        Stream<LocalDateTime> starts = LongStream.iterate(0, n -> n + 1)
+                .mapToObj(n -> advance(startTime, rule.frequency(), n * interval));
+        if (rule.until() != null) {
+            starts = starts.takeWhile(start -> !start.toLocalDate().isAfter(rule.until()));
+        }
+
+        return starts.limit(limit).map(start -> new TimeSlot(start, start.plus(length)));
+    }
+
+    private static LocalDateTime advance(LocalDateTime first, RecurrenceRuleDTO.Frequency frequency, long steps) {
+        return switch (frequency) {
+            case DAILY -> first.plusDays(steps);
+            case WEEKLY -> first.plusWeeks(steps);
+            case MONTHLY -> first.plusMonths(steps);
+        };
+    }
+}
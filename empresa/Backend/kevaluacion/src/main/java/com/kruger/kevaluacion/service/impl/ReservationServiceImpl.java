@@ -1,41 +1,91 @@
 package com.kruger.kevaluacion.service.impl;
 
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchResultDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationCursor;
+import com.kruger.kevaluacion.dto.reservation.ReservationFilterDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationPageDTO;
 import com.kruger.kevaluacion.dto.reservation.ReservationRequestDTO;
 import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationSeriesRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationSeriesResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.SlotSuggestionDTO;
+import com.kruger.kevaluacion.dto.reservation.SlotSuggestionRequestDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
 import com.kruger.kevaluacion.entity.*;
+import com.kruger.kevaluacion.event.ReservationChangedEvent;
 import com.kruger.kevaluacion.mapper.ReservationMapper;
+import com.kruger.kevaluacion.repository.ReservationArchiveRepository;
 import com.kruger.kevaluacion.repository.ReservationRepository;
 import com.kruger.kevaluacion.repository.RoomRepository;
-import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.CurrentUserResolver;
 import com.kruger.kevaluacion.service.interfaces.ReservationService;
+import com.kruger.kevaluacion.service.interfaces.RoomService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
 public class ReservationServiceImpl implements ReservationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SUGGESTIONS = 5;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_SUGGESTION_DAYS = 31;
+    private static final String CONFLICT_METRIC = "reservations.conflicts";
+
     private final ReservationRepository reservationRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final ReservationMapper reservationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final RoomService roomService;
+    private final MeterRegistry meterRegistry;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final ReservationArchiveRepository reservationArchiveRepository;
 
     @Override
+    @Transactional
     public ReservationResponseDTO create(ReservationRequestDTO dto, UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        validateReservationTime(dto);
 
-        Room room = roomRepository.findById(dto.roomId())
+        User user = currentUserResolver.resolve(userDetails);
+
+        // El bloqueo de la fila de la sala hace atómico "verificar y guardar":
+        // dos solicitudes para la misma sala se serializan, las de salas distintas no se esperan.
+        Room room = roomRepository.findByIdForUpdate(dto.roomId())
                 .orElseThrow(() -> new RuntimeException("Sala no encontrada"));
 
         // Validaciones
-        validateReservationTime(dto);
-        validateRoomAvailability(dto.roomId(), dto.startTime(), dto.endTime());
+        validateRoomAvailability(room, dto.startTime(), dto.endTime());
         validateUserAvailability(user, dto.startTime(), dto.endTime());
 
         Reservation reservation = reservationMapper.toEntity(dto);
@@ -44,13 +94,224 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setStatus(ReservationStatus.ACTIVE);
         reservation.setCreatedAt(LocalDateTime.now());
 
-        return reservationMapper.toDTO(reservationRepository.save(reservation));
+        Reservation saved = reservationRepository.save(reservation);
+        roomAvailabilityIndex.recordChange(room, saved, ReservationStatus.ACTIVE);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(saved));
+        return reservationMapper.toDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public ReservationBatchResponseDTO createBatch(ReservationBatchRequestDTO dto, UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+        List<ReservationRequestDTO> items = dto.items();
+        ReservationBatchResultDTO[] results = new ReservationBatchResultDTO[items.size()];
+
+        // 1. Validación de horario de cada elemento, en memoria
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ReservationRequestDTO item = items.get(i);
+            try {
+                if (item == null || item.startTime() == null || item.endTime() == null || item.roomId() == null) {
+                    throw new IllegalArgumentException("Sala, fecha de inicio y fecha de fin son obligatorias");
+                }
+                validateReservationTime(item);
+                candidates.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = batchResult(i, ReservationBatchResultDTO.Status.INVALID, null, e.getMessage());
+            }
+        }
+
+        // 2. Bloqueo de las salas en orden de id (evita interbloqueos entre lotes concurrentes)
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Long roomId : new TreeSet<>(candidates.stream().map(i -> items.get(i).roomId()).toList())) {
+            roomRepository.findByIdForUpdate(roomId).ifPresent(room -> rooms.put(roomId, room));
+        }
+
+        // 3. Una consulta de rango para las salas y otra para el usuario cubren todo el lote
+        Map<Long, List<TimeSlot>> roomBusy = new HashMap<>();
+        List<TimeSlot> userBusy = new ArrayList<>();
+        if (!rooms.isEmpty()) {
+            LocalDateTime windowStart = candidates.stream().map(i -> items.get(i).startTime()).min(LocalDateTime::compareTo).get();
+            LocalDateTime windowEnd = candidates.stream().map(i -> items.get(i).endTime()).max(LocalDateTime::compareTo).get();
+
+            reservationRepository.findActiveByRoomIdsInPeriod(rooms.keySet(), windowStart, windowEnd)
+                    .forEach(r -> roomBusy.computeIfAbsent(r.getRoom().getId(), id -> new ArrayList<>())
+                            .add(new TimeSlot(r.getStartTime(), r.getEndTime())));
+            reservationRepository.findUserActiveReservationsInPeriod(user, windowStart, windowEnd)
+                    .forEach(r -> userBusy.add(new TimeSlot(r.getStartTime(), r.getEndTime())));
+        }
+
+        // 4. Conflictos en memoria; lo aceptado cuenta como ocupado para los siguientes elementos
+        List<Reservation> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i : candidates) {
+            ReservationRequestDTO item = items.get(i);
+            Room room = rooms.get(item.roomId());
+            List<TimeSlot> busy = roomBusy.computeIfAbsent(item.roomId(), id -> new ArrayList<>());
+
+            if (room == null) {
+                results[i] = batchResult(i, ReservationBatchResultDTO.Status.INVALID, null, "Sala no encontrada");
+            } else if (TimeSlot.anyConflict(busy, item.startTime(), item.endTime())) {
+                countConflict("room");
+                results[i] = batchResult(i, ReservationBatchResultDTO.Status.CONFLICT, null,
+                        "La sala no está disponible en el horario solicitado");
+            } else if (TimeSlot.anyConflict(userBusy, item.startTime(), item.endTime())) {
+                countConflict("user");
+                results[i] = batchResult(i, ReservationBatchResultDTO.Status.CONFLICT, null,
+                        "Ya tienes una reserva en este horario");
+            } else {
+                TimeSlot slot = new TimeSlot(item.startTime(), item.endTime());
+                busy.add(slot);
+                userBusy.add(slot);
+
+                Reservation reservation = reservationMapper.toEntity(item);
+                reservation.setUser(user);
+                reservation.setRoom(room);
+                reservation.setStatus(ReservationStatus.ACTIVE);
+                reservation.setCreatedAt(LocalDateTime.now());
+                accepted.add(reservation);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        // 5. Inserción en lote (ids de secuencia pooled + hibernate.jdbc.batch_size)
+        List<Reservation> saved = reservationRepository.saveAll(accepted);
+        for (int k = 0; k < saved.size(); k++) {
+            Reservation reservation = saved.get(k);
+            int index = acceptedIndexes.get(k);
+            roomAvailabilityIndex.recordChange(reservation.getRoom(), reservation, ReservationStatus.ACTIVE);
+            eventPublisher.publishEvent(ReservationChangedEvent.of(reservation));
+            results[index] = batchResult(index, ReservationBatchResultDTO.Status.CREATED, reservationMapper.toDTO(reservation), null);
+        }
+
+        return new ReservationBatchResponseDTO(saved.size(), items.size() - saved.size(), Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional
+    public ReservationSeriesResponseDTO createSeries(ReservationSeriesRequestDTO dto, UserDetails userDetails) {
+        // Las ocurrencias se generan bajo demanda; el límite de la regla acota la serie
+        List<TimeSlot> occurrences = RecurrenceExpander.occurrences(dto.startTime(), dto.endTime(), dto.recurrence())
+                .toList();
+        if (occurrences.isEmpty()) {
+            throw new IllegalArgumentException("La regla de repetición no genera ninguna ocurrencia");
+        }
+        occurrences.forEach(slot -> validateReservationTime(slot.startTime(), slot.endTime()));
+
+        User user = currentUserResolver.resolve(userDetails);
+        Room room = roomRepository.findByIdForUpdate(dto.roomId())
+                .orElseThrow(() -> new RuntimeException("Sala no encontrada"));
+
+        // Una consulta de rango cubre toda la serie para la sala y otra para el usuario
+        LocalDateTime windowStart = occurrences.get(0).startTime();
+        LocalDateTime windowEnd = occurrences.get(occurrences.size() - 1).endTime();
+        List<TimeSlot> roomBusy = reservationRepository.findActiveByRoomIdsInPeriod(List.of(room.getId()), windowStart, windowEnd)
+                .stream()
+                .map(r -> new TimeSlot(r.getStartTime(), r.getEndTime()))
+                .toList();
+        List<TimeSlot> userBusy = reservationRepository.findUserActiveReservationsInPeriod(user, windowStart, windowEnd)
+                .stream()
+                .map(r -> new TimeSlot(r.getStartTime(), r.getEndTime()))
+                .toList();
+
+        // La serie se crea completa o no se crea
+        String roomConflicts = conflictingDates(occurrences, roomBusy);
+        if (!roomConflicts.isEmpty()) {
+            countConflict("room");
+            throw new RuntimeException("La sala no está disponible en: " + roomConflicts);
+        }
+        String userConflicts = conflictingDates(occurrences, userBusy);
+        if (!userConflicts.isEmpty()) {
+            countConflict("user");
+            throw new RuntimeException("Ya tienes una reserva en: " + userConflicts);
+        }
+
+        String seriesId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> reservations = occurrences.stream()
+                .map(slot -> Reservation.builder()
+                        .startTime(slot.startTime())
+                        .endTime(slot.endTime())
+                        .purpose(dto.purpose())
+                        .status(ReservationStatus.ACTIVE)
+                        .createdAt(now)
+                        .seriesId(seriesId)
+                        .room(room)
+                        .user(user)
+                        .build())
+                .toList();
+
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        saved.forEach(reservation -> {
+            roomAvailabilityIndex.recordChange(room, reservation, ReservationStatus.ACTIVE);
+            eventPublisher.publishEvent(ReservationChangedEvent.of(reservation));
+        });
+        return new ReservationSeriesResponseDTO(seriesId, saved.size(),
+                saved.stream().map(reservationMapper::toDTO).toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotSuggestionDTO> suggestSlots(SlotSuggestionRequestDTO request, UserDetails userDetails) {
+        validateSuggestionRequest(request);
+        User user = currentUserResolver.resolve(userDetails);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = request.from().isBefore(now) ? now : request.from();
+        LocalDateTime to = request.to();
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+
+        // Salas candidatas desde el catálogo en memoria (solo activas)
+        String equipment = request.equipment() == null || request.equipment().isBlank()
+                ? null : request.equipment().trim().toLowerCase(Locale.ROOT);
+        Map<Long, RoomResponseDTO> rooms = new HashMap<>();
+        for (RoomResponseDTO room : roomService.findAll()) {
+            if ((request.minCapacity() == null || room.capacity() >= request.minCapacity())
+                    && (equipment == null || (room.equipment() != null
+                        && room.equipment().toLowerCase(Locale.ROOT).contains(equipment)))) {
+                rooms.put(room.id(), room);
+            }
+        }
+        if (rooms.isEmpty()) {
+            return List.of();
+        }
+
+        // Una consulta para todas las salas (ya ordenada por sala e inicio) y otra para el usuario
+        Map<Long, List<TimeSlot>> busyByRoom = new HashMap<>();
+        for (ReservationRepository.BusyInterval interval :
+                reservationRepository.findActiveIntervalsByRoomIdsInPeriod(rooms.keySet(), from, to)) {
+            busyByRoom.computeIfAbsent(interval.getRoomId(), id -> new ArrayList<>())
+                    .add(new TimeSlot(interval.getStartTime(), interval.getEndTime()));
+        }
+        List<TimeSlot> userBusy = reservationRepository.findUserActiveReservationsInPeriod(user, from, to).stream()
+                .map(r -> new TimeSlot(r.getStartTime(), r.getEndTime()))
+                .sorted(Comparator.comparing(TimeSlot::startTime))
+                .toList();
+
+        List<SlotSuggestionEngine.RoomBusy> candidates = rooms.keySet().stream()
+                .map(roomId -> new SlotSuggestionEngine.RoomBusy(roomId, busyByRoom.getOrDefault(roomId, List.of())))
+                .toList();
+        int limit = request.limit() == null ? DEFAULT_SUGGESTIONS : request.limit();
+
+        return SlotSuggestionEngine.suggest(candidates, userBusy, Duration.ofMinutes(request.durationMinutes()),
+                        from, to, limit)
+                .stream()
+                .map(suggestion -> {
+                    RoomResponseDTO room = rooms.get(suggestion.roomId());
+                    return new SlotSuggestionDTO(
+                            new ReservationResponseDTO.RoomSummaryDTO(room.id(), room.name(), room.location(), room.capacity()),
+                            suggestion.startTime(),
+                            suggestion.endTime());
+                })
+                .toList();
     }
 
     @Override
     public List<ReservationResponseDTO> findByUser(UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
 
         return reservationRepository.findByUserOrderByStartTimeDesc(user)
                 .stream()
@@ -60,8 +321,7 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     public List<ReservationResponseDTO> findAll(UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
 
         // Solo ADMIN puede ver todas las reservas
         if (user.getRole() != Role.ADMIN) {
@@ -76,8 +336,7 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     public ReservationResponseDTO findById(Long id, UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
 
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reserva no encontrada"));
@@ -91,9 +350,9 @@ public class ReservationServiceImpl implements ReservationService {
     }
 
     @Override
+    @Transactional
     public void cancel(Long id, UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
 
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reserva no encontrada"));
@@ -107,29 +366,185 @@ public class ReservationServiceImpl implements ReservationService {
             throw new RuntimeException("La reserva ya está cancelada");
         }
 
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        reservationRepository.save(reservation);
+        // Como en create: con la sala bloqueada, su versión avanza junto con la cancelación
+        Room room = roomRepository.findByIdForUpdate(reservation.getRoom().getId())
+                .orElseThrow(() -> new RuntimeException("Sala no encontrada"));
+        if (reservationRepository.cancelActiveById(id) > 0) {
+            roomAvailabilityIndex.recordChange(room, reservation, ReservationStatus.CANCELLED);
+            eventPublisher.publishEvent(cancelledEvent(reservation));
+        }
+    }
+
+    @Override
+    @Transactional
+    public int cancelSeries(String seriesId, LocalDateTime from, UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+
+        // Las filas afectadas se leen antes del UPDATE para verificar permisos y publicar los eventos
+        List<Reservation> affected = reservationRepository.findActiveBySeriesId(seriesId, from);
+        if (affected.isEmpty()) {
+            throw new RuntimeException("Serie no encontrada o sin reservas activas");
+        }
+
+        // Verificar permisos: el creador de la serie o ADMIN puede cancelar
+        if (!affected.get(0).getUser().getId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("No tienes permisos para cancelar esta serie");
+        }
+
+        // Salas bloqueadas en orden de id, como en createBatch
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Long roomId : new TreeSet<>(affected.stream().map(r -> r.getRoom().getId()).toList())) {
+            roomRepository.findByIdForUpdate(roomId).ifPresent(room -> rooms.put(roomId, room));
+        }
+
+        int cancelled = reservationRepository.cancelActiveBySeriesId(seriesId, from);
+        affected.forEach(reservation -> {
+            roomAvailabilityIndex.recordChange(rooms.get(reservation.getRoom().getId()), reservation,
+                    ReservationStatus.CANCELLED);
+            eventPublisher.publishEvent(cancelledEvent(reservation));
+        });
+        return cancelled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationPageDTO findPageByUser(ReservationFilterDTO filter, String cursor, int size, UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+        return findPage(user.getId(), filter, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationPageDTO findArchivedByUser(String cursor, int size, UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        ReservationCursor position = cursor == null || cursor.isBlank() ? null : ReservationCursor.decode(cursor);
+
+        List<ReservationResponseDTO> rows = reservationArchiveRepository.findPageByUser(
+                user.getId(), user.getUsername(),
+                position != null ? position.startTime() : null,
+                position != null ? position.id() : null,
+                pageSize);
+
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            ReservationResponseDTO last = rows.get(rows.size() - 1);
+            nextCursor = new ReservationCursor(last.startTime(), last.id()).encode();
+        }
+        return new ReservationPageDTO(rows, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationPageDTO findAllPage(ReservationFilterDTO filter, String cursor, int size, UserDetails userDetails) {
+        requireAdmin(userDetails);
+        return findPage(null, filter, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(ReservationFilterDTO filter, UserDetails userDetails, Consumer<ReservationResponseDTO> consumer) {
+        requireAdmin(userDetails);
+
+        try (Stream<Reservation> rows = reservationRepository.streamFiltered(
+                null, filter.status(), filter.roomId(), filter.from(), filter.to())) {
+            rows.forEach(reservation -> {
+                consumer.accept(reservationMapper.toDTO(reservation));
+                // Evita que el contexto de persistencia crezca con cada fila leída
+                entityManager.detach(reservation);
+            });
+        }
+    }
+
+    private ReservationPageDTO findPage(Long userId, ReservationFilterDTO filter, String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        ReservationCursor position = cursor == null || cursor.isBlank() ? null : ReservationCursor.decode(cursor);
+
+        List<Reservation> rows = reservationRepository.findPage(
+                userId, filter.status(), filter.roomId(), filter.from(), filter.to(),
+                position != null ? position.startTime() : null,
+                position != null ? position.id() : null,
+                PageRequest.ofSize(pageSize));
+
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            Reservation last = rows.get(rows.size() - 1);
+            nextCursor = new ReservationCursor(last.getStartTime(), last.getId()).encode();
+        }
+
+        return new ReservationPageDTO(rows.stream().map(reservationMapper::toDTO).toList(), nextCursor);
+    }
+
+    private void requireAdmin(UserDetails userDetails) {
+        User user = currentUserResolver.resolve(userDetails);
+
+        // Solo ADMIN puede ver todas las reservas
+        if (user.getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("Solo los administradores pueden ver todas las reservas");
+        }
+    }
+
+    private static ReservationBatchResultDTO batchResult(int index, ReservationBatchResultDTO.Status status,
+                                                         ReservationResponseDTO reservation, String message) {
+        return new ReservationBatchResultDTO(index, status, reservation, message);
+    }
+
+    // El UPDATE masivo no pasa por el contexto de persistencia: el evento se arma con el estado final
+    private static ReservationChangedEvent cancelledEvent(Reservation reservation) {
+        return new ReservationChangedEvent(reservation.getId(), reservation.getRoom().getId(),
+                reservation.getStartTime(), reservation.getEndTime(), ReservationStatus.CANCELLED);
+    }
+
+    // Fechas de las ocurrencias que chocan con algún intervalo ocupado (como máximo cinco)
+    private static String conflictingDates(List<TimeSlot> occurrences, List<TimeSlot> busy) {
+        return occurrences.stream()
+                .filter(slot -> TimeSlot.anyConflict(busy, slot.startTime(), slot.endTime()))
+                .limit(5)
+                .map(slot -> slot.startTime().toLocalDate().toString())
+                .collect(Collectors.joining(", "));
     }
 
     private void validateReservationTime(ReservationRequestDTO dto) {
-        if (dto.startTime().isAfter(dto.endTime())) {
+        validateReservationTime(dto.startTime(), dto.endTime());
+    }
+
+    // Estático y visible en el paquete para ReservationValidationBenchmark (src/jmh)
+    static void validateReservationTime(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime.isAfter(endTime)) {
             throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha de fin");
         }
 
-        if (dto.startTime().isBefore(LocalDateTime.now())) {
+        if (startTime.isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("No se pueden crear reservas en el pasado");
         }
 
         // Validar que la reserva sea en horario laboral (8:00 - 18:00)
-        int startHour = dto.startTime().getHour();
-        int endHour = dto.endTime().getHour();
-        if (startHour < 8 || endHour > 18) {
+        if (!BusinessHours.contains(startTime, endTime)) {
             throw new IllegalArgumentException("Las reservas deben ser en horario laboral (8:00 - 18:00)");
         }
     }
 
-    private void validateRoomAvailability(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
-        if (reservationRepository.existsConflictingReservation(roomId, startTime, endTime)) {
+    private void validateSuggestionRequest(SlotSuggestionRequestDTO request) {
+        if (request.from() == null || request.to() == null || !request.from().isBefore(request.to())) {
+            throw new IllegalArgumentException("La ventana de búsqueda debe tener inicio anterior al fin");
+        }
+        if (ChronoUnit.DAYS.between(request.from(), request.to()) >= MAX_SUGGESTION_DAYS) {
+            throw new IllegalArgumentException("La ventana de búsqueda no puede superar " + MAX_SUGGESTION_DAYS + " días");
+        }
+        if (request.durationMinutes() < SlotSuggestionEngine.STEP_MINUTES
+                || request.durationMinutes() > BusinessHours.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("La duración debe estar entre " + SlotSuggestionEngine.STEP_MINUTES
+                    + " y " + BusinessHours.MINUTES_PER_DAY + " minutos");
+        }
+        if (request.limit() != null && (request.limit() < 1 || request.limit() > MAX_SUGGESTIONS)) {
+            throw new IllegalArgumentException("Se pueden pedir entre 1 y " + MAX_SUGGESTIONS + " sugerencias");
+        }
+    }
+
+    // La sala viene bloqueada: el índice solo usa su copia si la versión de la sala coincide
+    private void validateRoomAvailability(Room room, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomAvailabilityIndex.hasConflict(room, startTime, endTime)) {
+            countConflict("room");
             throw new RuntimeException("La sala no está disponible en el horario solicitado");
         }
     }
@@ -139,7 +554,13 @@ public class ReservationServiceImpl implements ReservationService {
                 .findUserActiveReservationsInPeriod(user, startTime, endTime);
         
         if (!conflictingReservations.isEmpty()) {
+            countConflict("user");
             throw new RuntimeException("Ya tienes una reserva en este horario");
         }
     }
-}
\ No newline at end of file
+
+    // Rechazos por conflicto, etiquetados por motivo (sala o usuario)
+    private void countConflict(String reason) {
+        meterRegistry.counter(CONFLICT_METRIC, "reason", reason).increment();
+    }
+}
@@ -0,0 +1,184 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de las reservas ACTIVAS de cada sala, ordenadas por inicio: la consulta de
+ * conflicto se resuelve en O(log n) sin ir a la base de datos.
+ * Cada copia lleva la versión de la sala (rooms.reservations_version) con la que se cargó. Toda
+ * transacción que crea o cancela reservas bloquea la fila de la sala y avanza esa versión, así que,
+ * leída bajo el bloqueo, la versión dice si la copia de este nodo está al día: si coincide se usa,
+ * si no (escribió otro nodo) se recarga la sala. Tras el commit, este nodo aplica sus propios
+ * cambios a la copia para no recargarla.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * Misma semántica que ReservationRepository.existsConflictingReservation.
+     * La sala debe venir de findByIdForUpdate en la transacción actual.
+     */
+    public boolean hasConflict(Room room, LocalDateTime startTime, LocalDateTime endTime) {
+        RoomTimeline timeline = timelines.get(room.getId());
+        if (timeline != null) {
+            Boolean conflict = timeline.overlaps(room.getReservationsVersion(), startTime, endTime);
+            if (conflict != null) {
+                return conflict;
+            }
+        }
+        RoomTimeline loaded = load(room);
+        timelines.put(room.getId(), loaded);
+        return loaded.overlaps(room.getReservationsVersion(), startTime, endTime);
+    }
+
+    /**
+     * Avanza la versión de la sala (bloqueada) y, si la transacción confirma, lleva el alta o la
+     * cancelación a la copia en memoria. Varios cambios en la misma transacción se aplican en orden.
+     */
+    public void recordChange(Room room, Reservation reservation, ReservationStatus status) {
+        long previous = room.getReservationsVersion();
+        room.setReservationsVersion(previous + 1);
+
+        Long roomId = room.getId();
+        Long reservationId = reservation.getId();
+        LocalDateTime startTime = reservation.getStartTime();
+        LocalDateTime endTime = reservation.getEndTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                RoomTimeline timeline = timelines.get(roomId);
+                if (timeline != null) {
+                    timeline.apply(previous, reservationId, startTime, endTime, status == ReservationStatus.ACTIVE);
+                }
+            }
+        });
+    }
+
+    private RoomTimeline load(Room room) {
+        RoomTimeline timeline = new RoomTimeline(room.getReservationsVersion());
+        reservationRepository
+                .findByRoomIdAndStatusAndEndTimeAfter(room.getId(), ReservationStatus.ACTIVE, LocalDateTime.now())
+                .forEach(r -> timeline.add(r.getId(), r.getStartTime(), r.getEndTime()));
+        return timeline;
+    }
+
+    private record Slot(Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {}
+
+    /**
+     * Intervalos de una sala ordenados por inicio (y por id para desempatar), con su versión.
+     */
+    private static final class RoomTimeline {
+
+        private static final Comparator<Slot> ORDER = Comparator
+                .comparing(Slot::startTime)
+                .thenComparing(Slot::reservationId);
+
+        private final NavigableSet<Slot> slots = new TreeSet<>(ORDER);
+        private final Map<Long, Slot> byId = new HashMap<>();
+        private long version;
+
+        // Duración máxima registrada: acota cuántos intervalos anteriores hay que revisar
+        private Duration maxDuration = Duration.ZERO;
+
+        private RoomTimeline(long version) {
+            this.version = version;
+        }
+
+        /**
+         * Aplica el cambio confirmado que llevó la sala de {@code from} a {@code from + 1};
+         * si la copia no estaba en {@code from} se deja como está y la siguiente consulta la recarga.
+         */
+        synchronized void apply(long from, Long reservationId, LocalDateTime startTime, LocalDateTime endTime,
+                                boolean active) {
+            if (version != from) {
+                return;
+            }
+            if (active) {
+                add(reservationId, startTime, endTime);
+            } else {
+                remove(reservationId);
+            }
+            version = from + 1;
+        }
+
+        synchronized void add(Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+            remove(reservationId);
+            Slot slot = new Slot(reservationId, startTime, endTime);
+            slots.add(slot);
+            byId.put(reservationId, slot);
+
+            Duration duration = Duration.between(startTime, endTime);
+            if (duration.compareTo(maxDuration) > 0) {
+                maxDuration = duration;
+            }
+            pruneEnded(LocalDateTime.now());
+        }
+
+        private void remove(Long reservationId) {
+            Slot slot = byId.remove(reservationId);
+            if (slot != null) {
+                slots.remove(slot);
+            }
+        }
+
+        /**
+         * Hay conflicto si r.startTime <= endTime y r.endTime > startTime; null si la copia no
+         * corresponde a {@code expectedVersion}.
+         */
+        synchronized Boolean overlaps(long expectedVersion, LocalDateTime startTime, LocalDateTime endTime) {
+            if (version != expectedVersion) {
+                return null;
+            }
+            Slot probe = new Slot(Long.MAX_VALUE, endTime, endTime);
+            LocalDateTime horizon = startTime.minus(maxDuration);
+
+            for (Slot slot : slots.headSet(probe, true).descendingSet()) {
+                if (slot.endTime().isAfter(startTime)) {
+                    return true;
+                }
+                if (!slot.startTime().isAfter(horizon)) {
+                    break;
+                }
+            }
+            return false;
+        }
+
+        // Las reservas ya terminadas no pueden chocar con una nueva (no se reserva en el pasado);
+        // ReservationCompletionJob las pasa a COMPLETED sin avanzar la versión
+        private void pruneEnded(LocalDateTime now) {
+            Iterator<Slot> it = slots.iterator();
+            while (it.hasNext()) {
+                Slot slot = it.next();
+                if (!slot.startTime().isBefore(now)) {
+                    break;
+                }
+                if (!slot.endTime().isAfter(now)) {
+                    it.remove();
+                    byId.remove(slot.reservationId());
+                }
+            }
+        }
+    }
+}
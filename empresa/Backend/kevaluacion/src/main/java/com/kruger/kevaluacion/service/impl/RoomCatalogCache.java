@@ -0,0 +1,87 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.kevaluacion.cache.CacheInvalidationChannel;
+import com.kruger.kevaluacion.dto.room.RoomCatalogDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import com.kruger.kevaluacion.event.RoomChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caché en memoria del catálogo de salas activas.
+ * Las lecturas devuelven siempre la misma instantánea inmutable hasta que una escritura
+ * de sala (RoomChangedEvent, tras el commit) la invalida en todas las instancias a través
+ * de CacheInvalidationChannel; la siguiente lectura la reconstruye desde la base de datos.
+ */
+@Component
+public class RoomCatalogCache {
+
+    static final String CACHE_NAME = "rooms";
+
+    private final CacheInvalidationChannel invalidationChannel;
+    private final ObjectMapper objectMapper;
+
+    private volatile RoomCatalogDTO snapshot;
+
+    // Número de invalidaciones: evita instalar una carga que empezó antes de la última escritura
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoomCatalogCache(CacheInvalidationChannel invalidationChannel, ObjectMapper objectMapper) {
+        this.invalidationChannel = invalidationChannel;
+        this.objectMapper = objectMapper;
+        invalidationChannel.subscribe(CACHE_NAME, this::invalidate);
+    }
+
+    public RoomCatalogDTO get(Supplier<List<RoomResponseDTO>> loader) {
+        RoomCatalogDTO current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        long loadedGeneration = generation.get();
+        RoomCatalogDTO loaded = build(loader.get());
+        synchronized (this) {
+            if (generation.get() == loadedGeneration) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        invalidationChannel.publish(CACHE_NAME);
+    }
+
+    private RoomCatalogDTO build(List<RoomResponseDTO> rooms) {
+        Map<Long, RoomResponseDTO> byId = rooms.stream()
+                .collect(Collectors.toUnmodifiableMap(RoomResponseDTO::id, Function.identity()));
+        return new RoomCatalogDTO(etagOf(rooms), List.copyOf(rooms), byId);
+    }
+
+    private String etagOf(List<RoomResponseDTO> rooms) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(rooms));
+            return "\"rooms-" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular el ETag del catálogo de salas", e);
+        }
+    }
+}
@@ -1,34 +1,58 @@
 package com.kruger.kevaluacion.service.impl;
 
+import com.kruger.kevaluacion.dto.room.RoomAvailabilitySearchDTO;
+import com.kruger.kevaluacion.dto.room.RoomCatalogDTO;
+import com.kruger.kevaluacion.dto.room.RoomFreeBusyDTO;
 import com.kruger.kevaluacion.dto.room.RoomRequestDTO;
 import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import com.kruger.kevaluacion.entity.Reservation;
 import com.kruger.kevaluacion.entity.Room;
 import com.kruger.kevaluacion.entity.Role;
 import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.event.RoomChangedEvent;
 import com.kruger.kevaluacion.mapper.RoomMapper;
+import com.kruger.kevaluacion.repository.ReservationRepository;
 import com.kruger.kevaluacion.repository.RoomRepository;
-import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.CurrentUserResolver;
 import com.kruger.kevaluacion.service.interfaces.RoomService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
 public class RoomServiceImpl implements RoomService {
 
+    private static final int MAX_FREE_BUSY_DAYS = 31;
+    private static final int MAX_FREE_BUSY_ROOMS = 100;
+
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final RoomMapper roomMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomCatalogCache roomCatalogCache;
 
     @Override
     public RoomResponseDTO create(RoomRequestDTO dto, UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
         
         // Solo ADMIN puede crear salas
         if (user.getRole() != Role.ADMIN) {
@@ -40,15 +64,22 @@ public class RoomServiceImpl implements RoomService {
         room.setCreatedAt(LocalDateTime.now());
         room.setActive(true);
 
-        return roomMapper.toDTO(roomRepository.save(room));
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(saved.getId(), true));
+        return roomMapper.toDTO(saved);
     }
 
     @Override
     public List<RoomResponseDTO> findAll() {
-        return roomRepository.findByActiveTrue()
+        return findCatalog().rooms();
+    }
+
+    @Override
+    public RoomCatalogDTO findCatalog() {
+        return roomCatalogCache.get(() -> roomRepository.findByActiveTrue()
                 .stream()
                 .map(roomMapper::toDTO)
-                .toList();
+                .toList());
     }
 
     @Override
@@ -59,17 +90,69 @@ public class RoomServiceImpl implements RoomService {
                 .toList();
     }
 
+    @Override
+    public Page<RoomResponseDTO> searchAvailableRooms(RoomAvailabilitySearchDTO criteria, Pageable pageable) {
+        if (!criteria.startTime().isBefore(criteria.endTime())) {
+            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha de fin");
+        }
+
+        return roomRepository.searchAvailableRooms(
+                        criteria.startTime(),
+                        criteria.endTime(),
+                        criteria.minCapacity() != null ? criteria.minCapacity() : 1,
+                        criteria.location() != null ? criteria.location().trim() : "",
+                        criteria.equipment() != null ? criteria.equipment().trim() : "",
+                        pageable)
+                .map(roomMapper::toDTO);
+    }
+
     @Override
     public RoomResponseDTO findById(Long id) {
+        // Las salas activas salen del catálogo en memoria; las inactivas, de la base de datos
+        RoomResponseDTO cached = findCatalog().byId().get(id);
+        if (cached != null) {
+            return cached;
+        }
+
         return roomRepository.findById(id)
                 .map(roomMapper::toDTO)
                 .orElseThrow(() -> new RuntimeException("Sala no encontrada"));
     }
 
+    @Override
+    public RoomFreeBusyDTO findFreeBusy(Long roomId, LocalDate from, LocalDate to, int granularityMinutes) {
+        if (!roomRepository.existsById(roomId)) {
+            throw new RuntimeException("Sala no encontrada");
+        }
+        return findFreeBusy(List.of(roomId), from, to, granularityMinutes).get(0);
+    }
+
+    @Override
+    public List<RoomFreeBusyDTO> findFreeBusy(List<Long> roomIds, LocalDate from, LocalDate to, int granularityMinutes) {
+        validateFreeBusyRequest(roomIds, from, to, granularityMinutes);
+
+        int slotsPerDay = BusinessHours.MINUTES_PER_DAY / granularityMinutes;
+        LocalDateTime windowStart = from.atTime(BusinessHours.OPENING_HOUR, 0);
+        LocalDateTime windowEnd = to.atTime(BusinessHours.CLOSING_HOUR, 0);
+
+        Map<Long, BitSet> busy = new LinkedHashMap<>();
+        roomIds.forEach(roomId -> busy.put(roomId, new BitSet()));
+
+        // Una sola consulta para todas las salas y todo el período
+        for (Reservation reservation : reservationRepository.findActiveByRoomIdsInPeriod(roomIds, windowStart, windowEnd)) {
+            markBusy(busy.get(reservation.getRoom().getId()), reservation, from, to, granularityMinutes, slotsPerDay);
+        }
+
+        LocalTime dayStart = LocalTime.of(BusinessHours.OPENING_HOUR, 0);
+        List<RoomFreeBusyDTO> result = new ArrayList<>();
+        busy.forEach((roomId, bits) -> result.add(new RoomFreeBusyDTO(roomId, from, to, dayStart, granularityMinutes,
+                slotsPerDay, Base64.getEncoder().encodeToString(bits.toByteArray()))));
+        return result;
+    }
+
     @Override
     public RoomResponseDTO update(Long id, RoomRequestDTO dto, UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
         
         // Solo ADMIN puede actualizar salas
         if (user.getRole() != Role.ADMIN) {
@@ -85,13 +168,14 @@ public class RoomServiceImpl implements RoomService {
         room.setLocation(dto.location());
         room.setEquipment(dto.equipment());
 
-        return roomMapper.toDTO(roomRepository.save(room));
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(saved.getId(), saved.getActive()));
+        return roomMapper.toDTO(saved);
     }
 
     @Override
     public void delete(Long id, UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        User user = currentUserResolver.resolve(userDetails);
         
         // Solo ADMIN puede eliminar salas
         if (user.getRole() != Role.ADMIN) {
@@ -104,5 +188,41 @@ public class RoomServiceImpl implements RoomService {
         // Soft delete - marcar como inactiva
         room.setActive(false);
         roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(room.getId(), false));
+    }
+
+    private void validateFreeBusyRequest(List<Long> roomIds, LocalDate from, LocalDate to, int granularityMinutes) {
+        if (roomIds == null || roomIds.isEmpty() || roomIds.size() > MAX_FREE_BUSY_ROOMS) {
+            throw new IllegalArgumentException("Debe indicar entre 1 y " + MAX_FREE_BUSY_ROOMS + " salas");
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_FREE_BUSY_DAYS) {
+            throw new IllegalArgumentException("El período debe tener entre 1 y " + MAX_FREE_BUSY_DAYS + " días");
+        }
+        if (granularityMinutes < 15 || BusinessHours.MINUTES_PER_DAY % granularityMinutes != 0) {
+            throw new IllegalArgumentException("La granularidad debe dividir el horario laboral en franjas de al menos 15 minutos");
+        }
+    }
+
+    /**
+     * Marca las franjas que la reserva bloquea, con la regla de conflicto de las reservas:
+     * una franja está ocupada si r.startTime <= fin de la franja y r.endTime > inicio de la franja.
+     */
+    private static void markBusy(BitSet bits, Reservation reservation, LocalDate from, LocalDate to,
+                                 int granularityMinutes, int slotsPerDay) {
+        LocalDate firstDay = reservation.getStartTime().toLocalDate().isAfter(from)
+                ? reservation.getStartTime().toLocalDate() : from;
+        LocalDate lastDay = reservation.getEndTime().toLocalDate().isBefore(to)
+                ? reservation.getEndTime().toLocalDate() : to;
+
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            int dayOffset = (int) ChronoUnit.DAYS.between(from, day) * slotsPerDay;
+            LocalDateTime slotStart = day.atTime(BusinessHours.OPENING_HOUR, 0);
+            for (int slot = 0; slot < slotsPerDay; slot++, slotStart = slotStart.plusMinutes(granularityMinutes)) {
+                LocalDateTime slotEnd = slotStart.plusMinutes(granularityMinutes);
+                if (!reservation.getStartTime().isAfter(slotEnd) && reservation.getEndTime().isAfter(slotStart)) {
+                    bits.set(dayOffset + slot);
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
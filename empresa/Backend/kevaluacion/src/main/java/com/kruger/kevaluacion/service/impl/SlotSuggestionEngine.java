@@ -0,0 +1,144 @@
+package com.kruger.kevaluacion.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Busca las primeras franjas libres entre varias salas sin consultar la base de datos.
+ * Cada sala recorre sus intervalos ocupados (ordenados por inicio) con un cursor que solo avanza,
+ * y una cola de prioridad mezcla las salas por su siguiente inicio factible (k-way merge).
+ * Respeta el horario laboral y las mismas reglas de conflicto que ReservationServiceImpl
+ * (sala y usuario): un intervalo ocupado bloquea si r.startTime <= fin y r.endTime > inicio.
+ */
+final class SlotSuggestionEngine {
+
+    static final int STEP_MINUTES = 15;
+
+    record RoomBusy(Long roomId, List<TimeSlot> busy) {}
+
+    record Suggestion(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {}
+
+    private SlotSuggestionEngine() {
+    }
+
+    /**
+     * @param rooms    salas candidatas con sus intervalos ocupados ordenados por inicio
+     * @param userBusy intervalos ocupados del usuario, ordenados por inicio
+     * @return hasta {@code limit} franjas, de la más temprana a la más tardía; en una misma sala no se solapan
+     */
+    static List<Suggestion> suggest(List<RoomBusy> rooms, List<TimeSlot> userBusy, Duration duration,
+                                    LocalDateTime from, LocalDateTime to, int limit) {
+        PriorityQueue<RoomCursor> queue = new PriorityQueue<>(Comparator
+                .comparing((RoomCursor cursor) -> cursor.nextStart)
+                .thenComparing(cursor -> cursor.roomId));
+
+        for (RoomBusy room : rooms) {
+            RoomCursor cursor = new RoomCursor(room.roomId(), room.busy(), userBusy, duration, to);
+            if (cursor.advance(from)) {
+                queue.add(cursor);
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>();
+        while (suggestions.size() < limit && !queue.isEmpty()) {
+            RoomCursor cursor = queue.poll();
+            LocalDateTime end = cursor.nextStart.plus(duration);
+            suggestions.add(new Suggestion(cursor.roomId, cursor.nextStart, end));
+            if (cursor.advance(end)) {
+                queue.add(cursor);
+            }
+        }
+        return suggestions;
+    }
+
+    static LocalDateTime alignUp(LocalDateTime time) {
+        LocalDateTime floor = time.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes(time.getMinute() / STEP_MINUTES * STEP_MINUTES);
+        return floor.equals(time) ? time : floor.plusMinutes(STEP_MINUTES);
+    }
+
+    private static final class RoomCursor {
+
+        private final Long roomId;
+        private final SlotPointer roomBusy;
+        private final SlotPointer userBusy;
+        private final Duration duration;
+        private final LocalDateTime windowEnd;
+        private LocalDateTime nextStart;
+
+        private RoomCursor(Long roomId, List<TimeSlot> roomBusy, List<TimeSlot> userBusy,
+                           Duration duration, LocalDateTime windowEnd) {
+            this.roomId = roomId;
+            this.roomBusy = new SlotPointer(roomBusy);
+            this.userBusy = new SlotPointer(userBusy);
+            this.duration = duration;
+            this.windowEnd = windowEnd;
+        }
+
+        /**
+         * Calcula el primer inicio factible a partir de {@code from}; false si ya no hay ninguno en la ventana.
+         */
+        boolean advance(LocalDateTime from) {
+            LocalDateTime start = alignUp(from);
+            while (true) {
+                LocalDate day = start.toLocalDate();
+                LocalDateTime opening = day.atTime(BusinessHours.OPENING_HOUR, 0);
+                if (start.isBefore(opening)) {
+                    start = opening;
+                }
+
+                LocalDateTime end = start.plus(duration);
+                if (end.isAfter(windowEnd)) {
+                    return false;
+                }
+                if (end.isAfter(day.atTime(BusinessHours.CLOSING_HOUR, 0))) {
+                    start = day.plusDays(1).atTime(BusinessHours.OPENING_HOUR, 0);
+                    continue;
+                }
+
+                TimeSlot conflict = roomBusy.firstConflict(start, end);
+                if (conflict == null) {
+                    conflict = userBusy.firstConflict(start, end);
+                }
+                if (conflict == null) {
+                    nextStart = start;
+                    return true;
+                }
+                // Lo más pronto posible tras el intervalo que bloquea (r.endTime <= inicio)
+                start = alignUp(conflict.endTime());
+            }
+        }
+    }
+
+    /**
+     * Posición en una lista ordenada por inicio; los inicios consultados solo crecen, así que
+     * los intervalos que ya terminaron se descartan una sola vez.
+     */
+    private static final class SlotPointer {
+
+        private final List<TimeSlot> slots;
+        private int index;
+
+        private SlotPointer(List<TimeSlot> slots) {
+            this.slots = slots;
+        }
+
+        TimeSlot firstConflict(LocalDateTime start, LocalDateTime end) {
+            while (index < slots.size() && !slots.get(index).endTime().isAfter(start)) {
+                index++;
+            }
+            for (int i = index; i < slots.size() && !slots.get(i).startTime().isAfter(end); i++) {
+                if (slots.get(i).conflictsWith(start, end)) {
+                    return slots.get(i);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kruger.kevaluacion.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Intervalo ocupado, usado para validar conflictos en memoria.
+ */
+record TimeSlot(LocalDateTime startTime, LocalDateTime endTime) {
+
+    /**
+     * Misma regla que ReservationRepository.existsConflictingReservation:
+     * esta reserva choca si empieza antes o justo cuando termina la nueva y termina después de que esta empieza.
+     */
+    boolean conflictsWith(LocalDateTime start, LocalDateTime end) {
+        return !startTime.isAfter(end) && endTime.isAfter(start);
+    }
+
+    static boolean anyConflict(Collection<TimeSlot> busy, LocalDateTime start, LocalDateTime end) {
+        for (TimeSlot slot : busy) {
+            if (slot.conflictsWith(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,11 +2,17 @@ package com.kruger.kevaluacion.service.impl;
 
 import com.kruger.kevaluacion.dto.user.UserRequestDTO;
 import com.kruger.kevaluacion.dto.user.UserResponseDTO;
+import com.kruger.kevaluacion.entity.Role;
 import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.event.UserChangedEvent;
 import com.kruger.kevaluacion.mapper.UserMapper;
 import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.PrincipalCache;
+import com.kruger.kevaluacion.security.TokenVersions;
 import com.kruger.kevaluacion.service.interfaces.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,17 +20,24 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "app.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final PrincipalCache principalCache;
+    private final TokenVersions tokenVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponseDTO create(UserRequestDTO request) {
         User user = userMapper.toEntity(request);
         user.setPassword(passwordEncoder.encode(request.password()));
-        return userMapper.toDTO(userRepository.save(user));
+        User saved = userRepository.save(user);
+        principalCache.evict(saved.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return userMapper.toDTO(saved);
     }
 
     @Override
@@ -41,4 +54,22 @@ public class UserServiceImpl implements UserService {
                 .map(userMapper::toDTO)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
     }
+
+    @Override
+    public UserResponseDTO updateRole(Long id, Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        if (user.getRole() == role) {
+            return userMapper.toDTO(user);
+        }
+
+        // Los JWT llevan el rol firmado: subir la versión rechaza los emitidos con el rol anterior
+        user.setRole(role);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User saved = userRepository.save(user);
+        tokenVersions.bump(saved.getId(), saved.getTokenVersion());
+        principalCache.evict(saved.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return userMapper.toDTO(saved);
+    }
 }
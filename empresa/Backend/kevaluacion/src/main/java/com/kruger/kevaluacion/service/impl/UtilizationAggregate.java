@@ -0,0 +1,270 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.event.ReservationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Agregado en memoria de ocupación: minutos reservados por sala, día de la semana y franja de 30 minutos.
+ * Se mantiene de forma incremental con los eventos de reserva (creación suma, cancelación resta;
+ * COMPLETED sigue contando) y se reconstruye desde la BD en paralelo, por particiones de salas.
+ * Cada instancia agrega los eventos que ella procesa: con varias instancias conviene reconstruir periódicamente.
+ */
+@Slf4j
+@Component
+public class UtilizationAggregate {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int BUCKETS = 7 * SLOTS_PER_DAY;
+
+    private static final int PARTITION_SIZE = 32;
+    private static final int MAX_INSTALL_ATTEMPTS = 3;
+
+    // Reservas que ocupan la sala (todo menos canceladas), incluidas las ya archivadas
+    private static final String ROOM_ROWS =
+            "SELECT room_id, start_time, end_time FROM reservations " +
+            "WHERE status <> 'CANCELLED' AND room_id IN (:roomIds) " +
+            "UNION ALL " +
+            "SELECT room_id, start_time, end_time FROM reservations_archive " +
+            "WHERE status = 'COMPLETED' AND room_id IN (:roomIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int parallelism;
+    private final Counter skippedInstalls;
+
+    private final Map<Long, AtomicLongArray> counters = new ConcurrentHashMap<>();
+
+    // Contador de cambios por sala: una partición reconstruida solo se instala si su sala no cambió mientras tanto
+    private final Map<Long, AtomicLong> modifications = new ConcurrentHashMap<>();
+
+    // Salas que no se pudieron instalar tras MAX_INSTALL_ATTEMPTS; se vuelven a leer en la siguiente lectura
+    private final Set<Long> staleRooms = ConcurrentHashMap.newKeySet();
+
+    // tracking: los eventos se aplican; ready: hubo al menos una reconstrucción completa
+    private volatile boolean tracking;
+    private volatile boolean ready;
+
+    public UtilizationAggregate(NamedParameterJdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.analytics.rebuild-parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelism = Math.max(1, parallelism);
+        this.skippedInstalls = Counter.builder("analytics.utilization.install.skipped")
+                .description("Salas que la reconstrucción no pudo instalar por cambios concurrentes")
+                .register(meterRegistry);
+    }
+
+    public Map<Long, long[]> snapshot() {
+        ensureBuilt();
+        Map<Long, long[]> copy = new HashMap<>();
+        counters.forEach((roomId, buckets) -> copy.put(roomId, toArray(buckets)));
+        return copy;
+    }
+
+    public Optional<long[]> snapshot(Long roomId) {
+        ensureBuilt();
+        return Optional.ofNullable(counters.get(roomId)).map(UtilizationAggregate::toArray);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        int sign = switch (event.status()) {
+            case ACTIVE -> 1;
+            case CANCELLED -> -1;
+            case COMPLETED -> 0;
+        };
+        if (sign == 0) {
+            return;
+        }
+
+        modificationsOf(event.roomId()).incrementAndGet();
+        if (!tracking) {
+            return;
+        }
+        counters.compute(event.roomId(), (roomId, buckets) -> {
+            AtomicLongArray target = buckets != null ? buckets : new AtomicLongArray(BUCKETS);
+            forEachSlot(event.startTime(), event.endTime(), (bucket, minutes) -> target.addAndGet(bucket, sign * minutes));
+            return target;
+        });
+    }
+
+    /**
+     * Recalcula el agregado completo: las salas se reparten en particiones que un ForkJoinPool
+     * consulta en paralelo. Devuelve el número de salas procesadas.
+     */
+    public synchronized int rebuild() {
+        // Desde aquí los eventos ya cuentan; si tocan una sala en reconstrucción, esa sala se vuelve a leer
+        tracking = true;
+
+        List<Long> roomIds = jdbcTemplate.getJdbcTemplate().queryForList("SELECT id FROM rooms", Long.class);
+        Map<Long, Long> stamps = new HashMap<>();
+        roomIds.forEach(roomId -> stamps.put(roomId, modificationsOf(roomId).get()));
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Map<Long, long[]> rebuilt;
+        try {
+            rebuilt = pool.invoke(new PartitionTask(roomIds));
+        } finally {
+            pool.shutdown();
+        }
+
+        staleRooms.clear();
+        for (Long roomId : roomIds) {
+            installWithRetries(roomId, stamps.get(roomId), rebuilt.getOrDefault(roomId, new long[BUCKETS]));
+        }
+
+        ready = true;
+        log.info("Agregado de ocupación reconstruido para {} salas", roomIds.size());
+        return roomIds.size();
+    }
+
+    private void ensureBuilt() {
+        if (!ready) {
+            synchronized (this) {
+                if (!ready) {
+                    rebuild();
+                }
+            }
+        }
+        if (!staleRooms.isEmpty()) {
+            reloadStaleRooms();
+        }
+    }
+
+    private synchronized void reloadStaleRooms() {
+        for (Long roomId : List.copyOf(staleRooms)) {
+            long stamp = modificationsOf(roomId).get();
+            installWithRetries(roomId, stamp, load(List.of(roomId)).getOrDefault(roomId, new long[BUCKETS]));
+        }
+    }
+
+    /**
+     * Instala la carga de una sala; si otra transacción la modificó mientras tanto, la vuelve a leer.
+     * Tras MAX_INSTALL_ATTEMPTS la sala queda marcada para releerla en la siguiente consulta del agregado.
+     */
+    private void installWithRetries(Long roomId, long stamp, long[] minutes) {
+        for (int attempt = 1; !install(roomId, minutes, stamp); attempt++) {
+            if (attempt >= MAX_INSTALL_ATTEMPTS) {
+                if (staleRooms.add(roomId)) {
+                    skippedInstalls.increment();
+                    log.warn("Sala {} sin instalar en el agregado de ocupación tras {} intentos; se releerá en la siguiente consulta",
+                            roomId, MAX_INSTALL_ATTEMPTS);
+                }
+                return;
+            }
+            stamp = modificationsOf(roomId).get();
+            minutes = load(List.of(roomId)).getOrDefault(roomId, new long[BUCKETS]);
+        }
+        staleRooms.remove(roomId);
+    }
+
+    private boolean install(Long roomId, long[] minutes, long stamp) {
+        boolean[] installed = {false};
+        counters.compute(roomId, (id, current) -> {
+            if (modificationsOf(id).get() != stamp) {
+                return current;
+            }
+            installed[0] = true;
+            return new AtomicLongArray(minutes);
+        });
+        return installed[0];
+    }
+
+    private Map<Long, long[]> load(List<Long> roomIds) {
+        Map<Long, long[]> result = new HashMap<>();
+        jdbcTemplate.query(ROOM_ROWS, Map.of("roomIds", roomIds), rs -> {
+            long[] buckets = result.computeIfAbsent(rs.getLong(1), id -> new long[BUCKETS]);
+            forEachSlot(rs.getTimestamp(2).toLocalDateTime(), rs.getTimestamp(3).toLocalDateTime(),
+                    (bucket, minutes) -> buckets[bucket] += minutes);
+        });
+        return result;
+    }
+
+    private AtomicLong modificationsOf(Long roomId) {
+        return modifications.computeIfAbsent(roomId, id -> new AtomicLong());
+    }
+
+    /**
+     * Reparte [start, end) en franjas de SLOT_MINUTES y entrega los minutos ocupados de cada una.
+     */
+    static void forEachSlot(LocalDateTime start, LocalDateTime end, SlotConsumer consumer) {
+        LocalDateTime slotStart = start.truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes(start.getMinute() / SLOT_MINUTES * SLOT_MINUTES);
+        while (slotStart.isBefore(end)) {
+            LocalDateTime slotEnd = slotStart.plusMinutes(SLOT_MINUTES);
+            LocalDateTime from = start.isAfter(slotStart) ? start : slotStart;
+            LocalDateTime to = end.isBefore(slotEnd) ? end : slotEnd;
+            long minutes = Duration.between(from, to).toMinutes();
+            if (minutes > 0) {
+                consumer.accept(bucketOf(slotStart), minutes);
+            }
+            slotStart = slotEnd;
+        }
+    }
+
+    private static int bucketOf(LocalDateTime slotStart) {
+        int dayOfWeek = slotStart.getDayOfWeek().getValue() - 1;
+        int minuteOfDay = slotStart.getHour() * 60 + slotStart.getMinute();
+        return dayOfWeek * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+    }
+
+    private static long[] toArray(AtomicLongArray buckets) {
+        long[] copy = new long[buckets.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = buckets.get(i);
+        }
+        return copy;
+    }
+
+    @FunctionalInterface
+    interface SlotConsumer {
+        void accept(int bucket, long minutes);
+    }
+
+    /**
+     * Divide la lista de salas hasta PARTITION_SIZE y consulta cada partición con una sola sentencia.
+     */
+    private final class PartitionTask extends RecursiveTask<Map<Long, long[]>> {
+
+        private final List<Long> roomIds;
+
+        private PartitionTask(List<Long> roomIds) {
+            this.roomIds = roomIds;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (roomIds.size() <= PARTITION_SIZE) {
+                return roomIds.isEmpty() ? new HashMap<>() : load(roomIds);
+            }
+
+            int middle = roomIds.size() / 2;
+            PartitionTask left = new PartitionTask(roomIds.subList(0, middle));
+            PartitionTask right = new PartitionTask(roomIds.subList(middle, roomIds.size()));
+            left.fork();
+            Map<Long, long[]> result = right.compute();
+            result.putAll(left.join());
+            return result;
+        }
+    }
+}
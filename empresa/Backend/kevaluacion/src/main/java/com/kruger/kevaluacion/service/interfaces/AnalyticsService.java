@@ -0,0 +1,12 @@
+package com.kruger.kevaluacion.service.interfaces;
+
+import com.kruger.kevaluacion.dto.analytics.RoomUtilizationDTO;
+import com.kruger.kevaluacion.dto.analytics.UtilizationRebuildDTO;
+
+import java.util.List;
+
+public interface AnalyticsService {
+    List<RoomUtilizationDTO> findUtilization(); // Solo ADMIN
+    RoomUtilizationDTO findUtilization(Long roomId); // Solo ADMIN
+    UtilizationRebuildDTO rebuildUtilization(); // Solo ADMIN
+}
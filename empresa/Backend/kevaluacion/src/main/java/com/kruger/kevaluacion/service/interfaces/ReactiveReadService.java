@@ -0,0 +1,14 @@
+package com.kruger.kevaluacion.service.interfaces;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveReadService {
+    Flux<RoomResponseDTO> findAvailableRooms(LocalDateTime startTime, LocalDateTime endTime);
+    Flux<ReservationResponseDTO> findByUser(UserDetails userDetails);
+    Flux<ReservationResponseDTO> findAll(UserDetails userDetails); // Solo ADMIN
+}
@@ -1,15 +1,33 @@
 package com.kruger.kevaluacion.service.interfaces;
 
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationBatchResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationFilterDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationPageDTO;
 import com.kruger.kevaluacion.dto.reservation.ReservationRequestDTO;
 import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationSeriesRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationSeriesResponseDTO;
+import com.kruger.kevaluacion.dto.reservation.SlotSuggestionDTO;
+import com.kruger.kevaluacion.dto.reservation.SlotSuggestionRequestDTO;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReservationService {
     ReservationResponseDTO create(ReservationRequestDTO dto, UserDetails userDetails);
+    ReservationBatchResponseDTO createBatch(ReservationBatchRequestDTO dto, UserDetails userDetails);
+    ReservationSeriesResponseDTO createSeries(ReservationSeriesRequestDTO dto, UserDetails userDetails);
+    List<SlotSuggestionDTO> suggestSlots(SlotSuggestionRequestDTO request, UserDetails userDetails);
     List<ReservationResponseDTO> findByUser(UserDetails userDetails);
     List<ReservationResponseDTO> findAll(UserDetails userDetails); // Solo ADMIN
     ReservationResponseDTO findById(Long id, UserDetails userDetails);
     void cancel(Long id, UserDetails userDetails);
+    int cancelSeries(String seriesId, LocalDateTime from, UserDetails userDetails);
+    ReservationPageDTO findPageByUser(ReservationFilterDTO filter, String cursor, int size, UserDetails userDetails);
+    ReservationPageDTO findAllPage(ReservationFilterDTO filter, String cursor, int size, UserDetails userDetails); // Solo ADMIN
+    ReservationPageDTO findArchivedByUser(String cursor, int size, UserDetails userDetails); // reservations_archive
+    void streamAll(ReservationFilterDTO filter, UserDetails userDetails, Consumer<ReservationResponseDTO> consumer); // Solo ADMIN
 }
\ No newline at end of file
@@ -1,17 +1,27 @@
 package com.kruger.kevaluacion.service.interfaces;
 
+import com.kruger.kevaluacion.dto.room.RoomAvailabilitySearchDTO;
+import com.kruger.kevaluacion.dto.room.RoomCatalogDTO;
+import com.kruger.kevaluacion.dto.room.RoomFreeBusyDTO;
 import com.kruger.kevaluacion.dto.room.RoomRequestDTO;
 import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RoomService {
     RoomResponseDTO create(RoomRequestDTO dto, UserDetails userDetails);
     List<RoomResponseDTO> findAll();
+    RoomCatalogDTO findCatalog();
     List<RoomResponseDTO> findAvailableRooms(LocalDateTime startTime, LocalDateTime endTime);
+    Page<RoomResponseDTO> searchAvailableRooms(RoomAvailabilitySearchDTO criteria, Pageable pageable);
     RoomResponseDTO findById(Long id);
+    RoomFreeBusyDTO findFreeBusy(Long roomId, LocalDate from, LocalDate to, int granularityMinutes);
+    List<RoomFreeBusyDTO> findFreeBusy(List<Long> roomIds, LocalDate from, LocalDate to, int granularityMinutes);
     RoomResponseDTO update(Long id, RoomRequestDTO dto, UserDetails userDetails);
     void delete(Long id, UserDetails userDetails);
 }
\ No newline at end of file
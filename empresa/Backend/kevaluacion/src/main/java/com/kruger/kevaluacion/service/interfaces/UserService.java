@@ -2,6 +2,7 @@ package com.kruger.kevaluacion.service.interfaces;
 
 import com.kruger.kevaluacion.dto.user.UserRequestDTO;
 import com.kruger.kevaluacion.dto.user.UserResponseDTO;
+import com.kruger.kevaluacion.entity.Role;
 
 import java.util.List;
 
@@ -9,4 +10,5 @@ public interface UserService {
     UserResponseDTO create(UserRequestDTO request);
     List<UserResponseDTO> findAll();
     UserResponseDTO findById(Long id);
+    UserResponseDTO updateRole(Long id, Role role); // Invalida los tokens emitidos con el rol anterior
 }
@@ -0,0 +1,12 @@
+-- Versiones de colección para los GET condicionales (ResourceVersions): compartidas por todos los nodos
+-- y estables entre reinicios. modified_at en segundos desde 1970 (resolución de Last-Modified).
+create table resource_versions (
+    resource    varchar(32) primary key,
+    version     bigint      not null,
+    modified_at bigint      not null
+);
+
+insert into resource_versions (resource, version, modified_at)
+values ('ROOMS', 0, 0),
+       ('RESERVATIONS', 0, 0),
+       ('USERS', 0, 0);
@@ -0,0 +1,4 @@
+-- Versión de las reservas activas de cada sala: la incrementa, con la fila de la sala bloqueada, cada
+-- transacción que crea o cancela reservas en ella. RoomAvailabilityIndex solo confía en su copia en
+-- memoria de una sala si coincide con esta versión, así sigue siendo exacto con varios nodos.
+alter table rooms add column reservations_version bigint default 0 not null;
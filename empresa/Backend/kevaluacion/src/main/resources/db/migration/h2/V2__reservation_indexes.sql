@@ -0,0 +1,25 @@
+-- Índices para las consultas calientes de reservas y salas.
+-- H2 no admite índices parciales: status va como columna del índice.
+
+-- existsConflictingReservation, carga de RoomAvailabilityIndex y NOT EXISTS por sala de findAvailableRooms
+create index idx_reservations_room_status_time
+    on reservations (room_id, status, start_time, end_time);
+
+-- findUserActiveReservationsInPeriod
+create index idx_reservations_user_status_time
+    on reservations (user_id, status, start_time, end_time);
+
+-- Barrido por ventana de tiempo (salas ocupadas en un período)
+create index idx_reservations_status_window
+    on reservations (status, start_time, end_time, room_id);
+
+-- Listados paginados por keyset (startTime, id) descendente
+create index idx_reservations_start_id
+    on reservations (start_time desc, id desc);
+
+create index idx_reservations_user_start_id
+    on reservations (user_id, start_time desc, id desc);
+
+-- Catálogo de salas activas
+create index idx_rooms_active
+    on rooms (active);
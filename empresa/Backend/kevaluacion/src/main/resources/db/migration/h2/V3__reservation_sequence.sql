@@ -0,0 +1,2 @@
+-- Reservation pasa de IDENTITY a una secuencia pooled (allocationSize = 50) para permitir INSERT en lote.
+create sequence reservations_seq start with 1 increment by 50;
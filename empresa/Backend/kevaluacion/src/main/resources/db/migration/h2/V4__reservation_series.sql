@@ -0,0 +1,5 @@
+-- Series de reservas recurrentes: las ocurrencias comparten series_id.
+alter table reservations add column series_id varchar(36);
+
+create index idx_reservations_series
+    on reservations (series_id, status);
@@ -0,0 +1,25 @@
+-- Tabla de archivo: las reservas COMPLETED/CANCELLED anteriores al horizonte se mueven aquí
+-- (ReservationArchiveJob) y la tabla reservations conserva solo el conjunto caliente.
+-- Sin claves foráneas para que mover filas no tenga que validar usuarios ni salas.
+create table reservations_archive (
+    id          bigint       not null,
+    start_time  timestamp(6) not null,
+    end_time    timestamp(6) not null,
+    purpose     varchar(255),
+    status      varchar(255) not null,
+    created_at  timestamp(6),
+    room_id     bigint       not null,
+    user_id     bigint       not null,
+    series_id   varchar(36),
+    archived_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_reservations_archive_user_start
+    on reservations_archive (user_id, start_time desc);
+
+create index idx_reservations_archive_room_start
+    on reservations_archive (room_id, start_time);
+
+insert into job_leases (name, owner, locked_until)
+values ('reservation-archive', null, timestamp '1970-01-01 00:00:00');
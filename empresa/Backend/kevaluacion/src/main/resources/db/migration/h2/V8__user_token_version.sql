@@ -0,0 +1,3 @@
+-- Versión de los tokens del usuario: se incrementa al cambiar su rol y los JWT con una versión
+-- anterior (claim ver) dejan de aceptarse. Ver TokenVersions.
+alter table users add column token_version integer default 0 not null;
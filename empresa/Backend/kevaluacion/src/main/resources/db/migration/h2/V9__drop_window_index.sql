@@ -0,0 +1,3 @@
+-- Ningún método del repositorio hace el barrido por ventana sin sala, y el índice cubre room_id:
+-- H2 lo prefería al de (room_id, status, ...) para existsConflictingReservation.
+drop index if exists idx_reservations_status_window;
@@ -0,0 +1,36 @@
+-- Esquema inicial, equivalente al que generaba Hibernate con ddl-auto=update.
+-- En bases existentes Flyway lo marca como baseline y no se ejecuta.
+
+create table users (
+    id         bigint generated by default as identity,
+    username   varchar(255) not null unique,
+    email      varchar(255) not null unique,
+    password   varchar(255) not null,
+    role       varchar(255) not null check (role in ('ADMIN', 'USER')),
+    primary key (id)
+);
+
+create table rooms (
+    id          bigint generated by default as identity,
+    name        varchar(255) not null,
+    description varchar(255),
+    capacity    integer      not null,
+    location    varchar(255),
+    equipment   varchar(255),
+    active      boolean      not null,
+    created_at  timestamp(6),
+    created_by  bigint       not null references users (id),
+    primary key (id)
+);
+
+create table reservations (
+    id         bigint generated by default as identity,
+    start_time timestamp(6) not null,
+    end_time   timestamp(6) not null,
+    purpose    varchar(255),
+    status     varchar(255) not null check (status in ('ACTIVE', 'CANCELLED', 'COMPLETED')),
+    created_at timestamp(6),
+    room_id    bigint       not null references rooms (id),
+    user_id    bigint       not null references users (id),
+    primary key (id)
+);
@@ -0,0 +1,30 @@
+-- Índices para las consultas calientes de reservas y salas.
+-- Los parciales (status = 'ACTIVE') solo contienen el conjunto de trabajo vigente.
+
+-- existsConflictingReservation, carga de RoomAvailabilityIndex y NOT EXISTS por sala de findAvailableRooms
+create index idx_reservations_room_active_time
+    on reservations (room_id, start_time, end_time)
+    where status = 'ACTIVE';
+
+-- findUserActiveReservationsInPeriod
+create index idx_reservations_user_active_time
+    on reservations (user_id, start_time, end_time)
+    where status = 'ACTIVE';
+
+-- Barrido por ventana de tiempo (salas ocupadas en un período)
+create index idx_reservations_active_window
+    on reservations (start_time, end_time)
+    include (room_id)
+    where status = 'ACTIVE';
+
+-- Listados paginados por keyset (startTime, id) descendente
+create index idx_reservations_start_id
+    on reservations (start_time desc, id desc);
+
+create index idx_reservations_user_start_id
+    on reservations (user_id, start_time desc, id desc);
+
+-- Catálogo de salas activas
+create index idx_rooms_active
+    on rooms (id)
+    where active;
@@ -0,0 +1,6 @@
+-- Reservation pasa de IDENTITY a una secuencia pooled (allocationSize = 50) para permitir INSERT en lote.
+-- La secuencia arranca por encima del id máximo existente; la columna identity se conserva
+-- ("generated by default" acepta ids explícitos).
+create sequence reservations_seq start with 1 increment by 50;
+
+select setval('reservations_seq', (select coalesce(max(id), 0) + 100 from reservations), false);
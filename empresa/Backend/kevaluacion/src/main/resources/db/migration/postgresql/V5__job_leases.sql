@@ -0,0 +1,14 @@
+-- Arriendos de trabajos programados: un solo nodo ejecuta cada trabajo a la vez.
+create table job_leases (
+    name         varchar(100) primary key,
+    owner        varchar(100),
+    locked_until timestamp    not null
+);
+
+insert into job_leases (name, owner, locked_until)
+values ('reservation-completion', null, timestamp '1970-01-01 00:00:00');
+
+-- Barrido de reservas activas ya terminadas (ReservationCompletionJob)
+create index idx_reservations_active_end
+    on reservations (end_time)
+    where status = 'ACTIVE';
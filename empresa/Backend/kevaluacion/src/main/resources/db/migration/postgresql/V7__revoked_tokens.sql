@@ -0,0 +1,10 @@
+-- Tokens JWT revocados (logout y refresh tokens ya rotados), por jti.
+-- TokenRevocationList los carga al arrancar y borra las filas ya expiradas.
+create table revoked_tokens (
+    jti        varchar(36) primary key,
+    expires_at timestamp   not null,
+    revoked_at timestamp   not null
+);
+
+create index idx_revoked_tokens_expires on revoked_tokens (expires_at);
+create index idx_revoked_tokens_revoked on revoked_tokens (revoked_at);
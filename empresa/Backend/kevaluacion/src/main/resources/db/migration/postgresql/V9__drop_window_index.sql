@@ -0,0 +1,3 @@
+-- Ningún método del repositorio hace el barrido por ventana sin sala; las consultas por sala
+-- usan idx_reservations_room_active_time.
+drop index if exists idx_reservations_active_window;
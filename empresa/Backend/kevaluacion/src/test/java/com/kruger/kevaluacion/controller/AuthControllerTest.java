@@ -1,15 +1,19 @@
 package com.kruger.kevaluacion.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.kevaluacion.dto.auth.RefreshRequest;
 import com.kruger.kevaluacion.dto.auth.RegisterRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -80,7 +84,55 @@ class AuthControllerTest {
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(loginJson))
-            .andExpect(jsonPath("$.message").value("Error de negocio"));
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.message").value("Credenciales inválidas"));
+    }
+
+    @Test
+    void refreshTokenIsSingleUseAndLogoutRevokesAccessToken() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest(
+                "testrefresh",
+                "refresh@example.com",
+                "refreshpass123"
+        );
+
+        JsonNode session = objectMapper.readTree(mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString());
+        String refreshJson = objectMapper.writeValueAsString(new RefreshRequest(session.get("refreshToken").asText()));
+
+        // El refresh token no sirve como token de acceso
+        mockMvc.perform(get("/rooms")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + session.get("refreshToken").asText()))
+                .andExpect(status().isUnauthorized());
+
+        JsonNode renewed = objectMapper.readTree(mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshJson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // Cada refresh token se usa una sola vez
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshJson))
+                .andExpect(status().isUnauthorized());
+
+        String bearer = "Bearer " + renewed.get("token").asText();
+        mockMvc.perform(get("/rooms").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(renewed.get("refreshToken").asText()))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/rooms").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
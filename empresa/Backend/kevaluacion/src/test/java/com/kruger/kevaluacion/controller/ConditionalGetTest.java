@@ -0,0 +1,176 @@
+package com.kruger.kevaluacion.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kruger.kevaluacion.cache.ResourceVersion;
+import com.kruger.kevaluacion.cache.ResourceVersions;
+import com.kruger.kevaluacion.security.JwtService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jobs.reservation-completion.enabled=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void unchangedRoomListAnswers304WithoutQueries() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken("admin");
+
+        String etag = mockMvc.perform(get("/rooms").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/rooms")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Tras un cambio del catálogo la versión anterior deja de valer
+        mockMvc.perform(post("/rooms")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Sala ETag\",\"capacity\":4}"))
+                .andExpect(status().isCreated());
+        String newEtag = mockMvc.perform(get("/rooms")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void reservationListVersionIsSharedAcrossInstances() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken("admin");
+        String etag = mockMvc.perform(get("/reservations").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Otra instancia (u otro arranque) sobre la misma base de datos ve la misma versión
+        ResourceVersions otherNode = new ResourceVersions(jdbcTemplate, entityManager, transactionManager);
+        assertEquals(resourceVersions.current(ResourceVersions.Resource.RESERVATIONS),
+                otherNode.current(ResourceVersions.Resource.RESERVATIONS));
+        mockMvc.perform(get("/reservations")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Un cambio hecho en la otra instancia invalida el ETag aquí; Last-Modified no retrocede
+        ResourceVersion before = resourceVersions.current(ResourceVersions.Resource.RESERVATIONS);
+        otherNode.touch(ResourceVersions.Resource.RESERVATIONS);
+        ResourceVersion after = resourceVersions.current(ResourceVersions.Resource.RESERVATIONS);
+        assertNotEquals(before.tag(), after.tag());
+        assertFalse(after.lastModified().isBefore(before.lastModified()));
+        mockMvc.perform(get("/reservations")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void batchAdvancesReservationVersionOnce() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken("admin");
+        String room = mockMvc.perform(post("/rooms")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Sala lote ETag\",\"capacity\":4}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long roomId = JsonPath.parse(room).read("$.id", Long.class);
+
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        StringBuilder items = new StringBuilder();
+        for (int hour = 9; hour <= 13; hour += 2) {
+            items.append(items.isEmpty() ? "" : ",")
+                    .append("{\"startTime\":\"").append(day.plusHours(hour))
+                    .append("\",\"endTime\":\"").append(day.plusHours(hour + 1))
+                    .append("\",\"roomId\":").append(roomId).append('}');
+        }
+
+        long before = reservationsVersion();
+        try {
+            mockMvc.perform(post("/reservations/batch")
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"items\":[" + items + "]}"))
+                    .andExpect(status().is2xxSuccessful());
+            // Tres reservas en una transacción: un solo avance de la versión
+            assertEquals(before + 1, reservationsVersion());
+        } finally {
+            jdbcTemplate.update("DELETE FROM reservations WHERE room_id = ?", roomId);
+            jdbcTemplate.update("DELETE FROM rooms WHERE id = ?", roomId);
+        }
+    }
+
+    @Test
+    void reservationByIdChecksAccessBeforeTheCollectionEtag() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken("admin");
+        String etag = mockMvc.perform(get("/reservations").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // El ETag vigente de la colección no convierte una reserva inexistente en un 304
+        mockMvc.perform(get("/reservations/{id}", Long.MAX_VALUE)
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().is4xxClientError());
+    }
+
+    private long reservationsVersion() {
+        return jdbcTemplate.queryForObject(
+                "SELECT version FROM resource_versions WHERE resource = 'RESERVATIONS'", Long.class);
+    }
+}
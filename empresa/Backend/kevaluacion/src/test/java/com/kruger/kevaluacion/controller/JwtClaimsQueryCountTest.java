@@ -0,0 +1,163 @@
+package com.kruger.kevaluacion.controller;
+
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.JwtService;
+import com.kruger.kevaluacion.security.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cuenta las sentencias SQL por petición según el token: solo con username el filtro carga el usuario;
+ * con los claims uid/role/ver la autenticación y la comprobación de rol no consultan la base de datos.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jobs.reservation-completion.enabled=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class JwtClaimsQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void claimsTokenSkipsTheUserLookup() throws Exception {
+        User user = user("claims-reader", Role.USER);
+
+        // Antes: token con solo el username y caché fría -> usuario + listado
+        principalCache.evict(user.getUsername());
+        long before = statementsFor("/reservations", jwtService.generateToken(user.getUsername()));
+
+        // Después: el principal sale de los claims -> solo el listado
+        principalCache.evict(user.getUsername());
+        long after = statementsFor("/reservations", jwtService.generateToken(user));
+
+        assertEquals(2, before);
+        assertEquals(1, after);
+    }
+
+    @Test
+    void roleChangeInvalidatesTokensIssuedWithThePreviousRole() throws Exception {
+        User admin = user("claims-admin", Role.ADMIN);
+        User target = user("claims-promoted", Role.USER);
+        String oldToken = jwtService.generateToken(target);
+
+        mockMvc.perform(get("/reservations").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/users/{id}/role", target.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/reservations").header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isUnauthorized());
+
+        User promoted = userRepository.findById(target.getId()).orElseThrow();
+        assertEquals(1, promoted.getTokenVersion());
+        mockMvc.perform(get("/reservations/all")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(promoted)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void claimsPrincipalIsNeverWrittenBack() throws Exception {
+        User user = user("claims-writer", Role.USER);
+        Room room = roomRepository.save(Room.builder()
+                .name("Sala claims")
+                .capacity(4)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .createdBy(user)
+                .build());
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        // El User de los claims no tiene email ni contraseña: guardarlo o fusionarlo los borraría
+        statistics.clear();
+        mockMvc.perform(post("/reservations")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startTime\":\"" + start + "\",\"endTime\":\"" + start.plusHours(1)
+                                + "\",\"roomId\":" + room.getId() + ",\"purpose\":\"claims\"}"))
+                .andExpect(status().isCreated());
+
+        EntityStatistics userStatistics = statistics.getEntityStatistics(User.class.getName());
+        assertEquals(0, userStatistics.getUpdateCount());
+        assertEquals(0, userStatistics.getInsertCount());
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(user.getEmail(), stored.getEmail());
+        assertEquals(user.getPassword(), stored.getPassword());
+
+        reservationRepository.deleteAllInBatch(reservationRepository.findByRoomIdOrderByStartTimeDesc(room.getId()));
+        roomRepository.delete(room);
+    }
+
+    private long statementsFor(String path, String token) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User user(String username, Role role) {
+        return userRepository.findByUsername(username).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("x")
+                .role(role)
+                .build()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.kruger.kevaluacion.controller;
+
+import com.kruger.kevaluacion.security.JwtService;
+import com.kruger.kevaluacion.service.interfaces.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// JDBC y R2DBC deben ver la misma base H2 en memoria, por eso las URLs explícitas
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "app.jobs.reservation-completion.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReactiveReadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void availableRoomsStreamMatchesBlockingPath() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime end = start.plusHours(1);
+
+        MvcResult started = mockMvc.perform(get("/reactive/rooms/available")
+                        .param("startTime", start.toString())
+                        .param("endTime", end.toString())
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        long lines = body.lines().filter(line -> !line.isBlank()).count();
+        assertEquals(roomService.findAvailableRooms(start, end).size(), lines);
+    }
+}
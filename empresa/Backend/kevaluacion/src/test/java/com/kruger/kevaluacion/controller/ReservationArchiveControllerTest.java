@@ -0,0 +1,87 @@
+package com.kruger.kevaluacion.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kruger.kevaluacion.security.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las reservas movidas a reservations_archive se leen con GET /reservations/archive, solo las del usuario.
+ */
+@SpringBootTest(properties = "app.jobs.reservation-completion.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ReservationArchiveControllerTest {
+
+    private static final String PURPOSE = "archive-test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reservations_archive WHERE purpose = ?", PURPOSE);
+    }
+
+    @Test
+    void ownArchivedReservationsArePagedNewestFirst() throws Exception {
+        Long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'admin'", Long.class);
+        LocalDateTime base = LocalDateTime.of(2020, 3, 2, 9, 0);
+        archive(-1, adminId, base);
+        archive(-2, adminId, base.plusDays(1));
+        archive(-3, adminId, base.plusDays(2));
+        // De otro usuario: no debe aparecer
+        archive(-4, adminId + 1000, base.plusDays(3));
+
+        String bearer = "Bearer " + jwtService.generateToken("admin");
+        String firstPage = mockMvc.perform(get("/reservations/archive")
+                        .param("size", "2")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(-3))
+                .andExpect(jsonPath("$.items[1].id").value(-2))
+                .andExpect(jsonPath("$.items[0].status").value("COMPLETED"))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+        mockMvc.perform(get("/reservations/archive")
+                        .param("size", "2")
+                        .param("cursor", cursor)
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(-1))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    private void archive(long id, Long userId, LocalDateTime start) {
+        jdbcTemplate.update("INSERT INTO reservations_archive " +
+                        "(id, start_time, end_time, purpose, status, created_at, room_id, user_id, series_id, archived_at) " +
+                        "VALUES (?, ?, ?, ?, 'COMPLETED', ?, ?, ?, NULL, ?)",
+                id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), PURPOSE,
+                Timestamp.valueOf(start.minusDays(7)), -1L, userId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.kruger.kevaluacion.job;
+
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El trabajo completa las reservas terminadas en varios lotes, no toca las futuras
+ * y una segunda ejecución no encuentra nada que hacer.
+ */
+@SpringBootTest(properties = {
+        "app.jobs.reservation-completion.batch-size=2",
+        "app.jobs.reservation-completion.initial-delay-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ReservationCompletionJobTest {
+
+    @Autowired
+    private ReservationCompletionJob job;
+
+    @Autowired
+    private JobLease jobLease;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void completesEndedReservationsIdempotently() {
+        User owner = userRepository.save(User.builder()
+                .username("completion-owner")
+                .email("completion-owner@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        Room room = roomRepository.save(Room.builder()
+                .name("Sala completion")
+                .capacity(4)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .createdBy(owner)
+                .build());
+
+        LocalDateTime past = LocalDate.now().minusDays(10).atTime(9, 0);
+        for (int i = 0; i < 5; i++) {
+            save(owner, room, past.plusDays(i));
+        }
+        Reservation future = save(owner, room, LocalDate.now().plusDays(1).atTime(9, 0));
+
+        assertEquals(5, job.run(LocalDateTime.now()));
+        assertEquals(0, job.run(LocalDateTime.now()));
+
+        assertEquals(5, reservationRepository.findByRoomIdOrderByStartTimeDesc(room.getId()).stream()
+                .filter(r -> r.getStatus() == ReservationStatus.COMPLETED)
+                .count());
+        assertEquals(ReservationStatus.ACTIVE, reservationRepository.findById(future.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void leaseIsExclusiveUntilReleased() {
+        String name = ReservationCompletionJob.LEASE_NAME;
+        JobLease otherNode = new JobLease(jdbcTemplate);
+
+        assertTrue(jobLease.tryAcquire(name, Duration.ofMinutes(5)));
+        // Otro nodo no puede tomarlo mientras esté vigente; el dueño sí puede renovarlo
+        assertFalse(otherNode.tryAcquire(name, Duration.ofMinutes(5)));
+        assertTrue(jobLease.tryAcquire(name, Duration.ofMinutes(5)));
+
+        jobLease.release(name);
+        assertTrue(otherNode.tryAcquire(name, Duration.ofMinutes(5)));
+        otherNode.release(name);
+    }
+
+    private Reservation save(User owner, Room room, LocalDateTime start) {
+        return reservationRepository.save(Reservation.builder()
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .purpose("completion")
+                .status(ReservationStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .room(room)
+                .user(owner)
+                .build());
+    }
+}
@@ -0,0 +1,104 @@
+package com.kruger.kevaluacion.repository;
+
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regresión de planes de consulta sobre H2: las consultas calientes de reservas
+ * deben resolverse con los índices creados por las migraciones (db/migration/h2).
+ * Se explica el SQL que genera Hibernate para cada método del repositorio, no una versión escrita a mano.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.kruger.kevaluacion.repository.ReservationIndexPlanTest$SqlCapture",
+        "app.jobs.reservation-completion.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ReservationIndexPlanTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 10, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        if (user != null) {
+            userRepository.delete(user);
+        }
+    }
+
+    @Test
+    void roomConflictCheckUsesRoomIndex() {
+        String sql = generatedSql(() -> reservationRepository.existsConflictingReservation(1L, START, END));
+
+        assertThat(explain(sql, 1L, END, START)).containsIgnoringCase("IDX_RESERVATIONS_ROOM_STATUS_TIME");
+    }
+
+    @Test
+    void userConflictCheckUsesUserIndex() {
+        user = userRepository.save(User.builder()
+                .username("plan-user")
+                .email("plan-user@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        String sql = generatedSql(() -> reservationRepository.findUserActiveReservationsInPeriod(user, START, END));
+
+        assertThat(explain(sql, user.getId(), END, START)).containsIgnoringCase("IDX_RESERVATIONS_USER_STATUS_TIME");
+    }
+
+    @Test
+    void oldestEndedActiveUsesStatusEndIndex() {
+        String sql = generatedSql(() -> reservationRepository.findOldestEndedActive(END));
+
+        assertThat(explain(sql, END)).containsIgnoringCase("IDX_RESERVATIONS_STATUS_END");
+    }
+
+    private String generatedSql(Runnable query) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        assertThat(SqlCapture.STATEMENTS).hasSize(1);
+        return SqlCapture.STATEMENTS.get(0);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    /**
+     * Guarda cada sentencia que Hibernate prepara.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.kruger.kevaluacion.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void neverReportsAnInsertedValueAsAbsent() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        String[] values = IntStream.range(0, INSERTIONS).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String value : values) {
+            filter.put(value);
+        }
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        IntStream.range(0, INSERTIONS).forEach(i -> filter.put("revoked-" + i));
+
+        int probes = 100_000;
+        long falsePositives = IntStream.range(0, probes)
+                .filter(i -> filter.mightContain("valid-" + i))
+                .count();
+
+        // Margen del doble sobre la tasa objetivo: detecta un hash o un índice roto, no ruido estadístico
+        assertTrue(falsePositives < probes * FALSE_POSITIVE_RATE * 2,
+                "Falsos positivos: " + falsePositives + " de " + probes);
+    }
+}
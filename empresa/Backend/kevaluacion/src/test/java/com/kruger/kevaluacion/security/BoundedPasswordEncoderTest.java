@@ -0,0 +1,69 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        // Un hilo y un hueco en cola: de ocho BCrypt simultáneos (decenas de ms cada uno) solo caben dos
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(1, 1, 10_000, new SimpleMeterRegistry());
+        AtomicInteger encoded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    try {
+                        encoder.encode("secret");
+                        encoded.incrementAndGet();
+                    } catch (ServiceBusyException e) {
+                        assertEquals(1, e.getRetryAfterSeconds());
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdown();
+            encoder.destroy();
+        }
+
+        assertEquals(CALLERS, encoded.get() + rejected.get());
+        assertTrue(encoded.get() >= 1);
+        assertTrue(rejected.get() >= 1);
+    }
+
+    @Test
+    void givesUpAfterTheTimeout() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(1, 1, 1, new SimpleMeterRegistry());
+        try {
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("secret"));
+        } finally {
+            encoder.destroy();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void userBucketThrottlesOneAccountWithoutBlockingOthersOnTheSameIp() {
+        LoginRateLimiter limiter = new LoginRateLimiter(300, 600, 5, 10, registry);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.checkLogin("10.0.0.1", "alice");
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkLogin("10.0.0.1", "alice"));
+
+        // 10 por minuto: el siguiente intento llega en unos 6 s
+        assertTrue(ex.getRetryAfterSeconds() >= 1 && ex.getRetryAfterSeconds() <= 6);
+        assertDoesNotThrow(() -> limiter.checkLogin("10.0.0.1", "bob"));
+        assertEquals(1.0, registry.get("security.auth.throttled").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    void ipBucketThrottlesOnceTheBurstIsSpent() {
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 60, 5, 10, registry);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.checkIp("10.0.0.2");
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> limiter.checkIp("10.0.0.2"));
+
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> limiter.checkIp("10.0.0.3"));
+        assertEquals(1.0, registry.get("security.auth.throttled").tag("scope", "ip").counter().count());
+    }
+}
@@ -0,0 +1,37 @@
+package com.kruger.kevaluacion.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsBurstThenRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(3, 6, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+
+        // 6 por minuto = un token cada 10 s
+        long wait = bucket.tryConsume(0);
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(9) && wait <= TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, bucket.tryConsume(TimeUnit.SECONDS.toNanos(10)));
+        assertTrue(bucket.tryConsume(TimeUnit.SECONDS.toNanos(10)) > 0);
+    }
+
+    @Test
+    void refillNeverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+
+        assertEquals(0, bucket.tryConsume(10 * MINUTE));
+        assertEquals(0, bucket.tryConsume(10 * MINUTE));
+        assertTrue(bucket.tryConsume(10 * MINUTE) > 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.cache.InMemoryCacheInvalidationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las revocaciones viven en revoked_tokens: una instancia nueva las recarga al arrancar
+ * y una instancia ya arrancada las recoge en su siguiente lectura periódica.
+ */
+@SpringBootTest(properties = "app.jobs.reservation-completion.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class TokenRevocationListTest {
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void revocationsSurviveARestart() {
+        String jti = UUID.randomUUID().toString();
+        assertTrue(revocationList.revoke(jti, inOneHour()));
+
+        TokenRevocationList restarted = newNode();
+
+        assertTrue(restarted.isRevoked(jti));
+        assertFalse(restarted.isRevoked(UUID.randomUUID().toString()));
+        // Consumo único también para la instancia recién arrancada
+        assertFalse(restarted.revoke(jti, inOneHour()));
+    }
+
+    @Test
+    void otherNodesPickUpRevocationsOnTheirNextSync() {
+        TokenRevocationList otherNode = newNode();
+        String jti = UUID.randomUUID().toString();
+
+        assertTrue(revocationList.revoke(jti, inOneHour()));
+        assertFalse(otherNode.isRevoked(jti));
+
+        otherNode.syncRecent();
+        assertTrue(otherNode.isRevoked(jti));
+    }
+
+    // Otra instancia de la aplicación: misma base de datos, canal de invalidación propio
+    private TokenRevocationList newNode() {
+        return new TokenRevocationList(jdbcTemplate, new InMemoryCacheInvalidationChannel(), 100, new SimpleMeterRegistry());
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+    }
+}
@@ -0,0 +1,62 @@
+package com.kruger.kevaluacion.security;
+
+import com.kruger.kevaluacion.cache.InMemoryCacheInvalidationChannel;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.service.interfaces.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Un cambio de rol hecho en esta instancia llega a las demás por la lectura periódica de users.token_version:
+ * rechazan los tokens anteriores y desalojan al usuario de su PrincipalCache.
+ */
+@SpringBootTest(properties = "app.jobs.reservation-completion.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class TokenVersionsTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void otherNodesPickUpRoleChangesOnTheirNextSync() {
+        user = userRepository.save(User.builder()
+                .username("versions-user")
+                .email("versions-user@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+
+        // Otra instancia de la aplicación: misma base de datos, caché y canal de invalidación propios
+        PrincipalCache otherCache = new PrincipalCache(userRepository, 100, 300, new SimpleMeterRegistry());
+        TokenVersions otherNode = new TokenVersions(userRepository, otherCache, new InMemoryCacheInvalidationChannel());
+        assertEquals(Role.USER, otherCache.findByUsername("versions-user").orElseThrow().getRole());
+
+        userService.updateRole(user.getId(), Role.ADMIN);
+        assertTrue(otherNode.isCurrent(user.getId(), 0));
+
+        otherNode.sync();
+        assertFalse(otherNode.isCurrent(user.getId(), 0));
+        assertTrue(otherNode.isCurrent(user.getId(), 1));
+        assertEquals(Role.ADMIN, otherCache.findByUsername("versions-user").orElseThrow().getRole());
+    }
+}
@@ -0,0 +1,172 @@
+package com.kruger.kevaluacion.service;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationRequestDTO;
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.UserDetailsImpl;
+import com.kruger.kevaluacion.service.interfaces.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2 con su propio dialecto: el bloqueo pesimista de PostgreSQL ("for no key update") no existe en H2
+@SpringBootTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ReservationConcurrencyTest {
+
+    private static final int ROOMS = 4;
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 64;
+    // Franjas consecutivas de 45 minutos, una por hora entre las 9:00 y las 17:00.
+    // Se deja un hueco porque existsConflictingReservation trata como conflicto una reserva
+    // que termina justo cuando empieza otra (r.startTime <= endTime).
+    private static final int SLOTS = 8;
+    // Cota inferior holgada (aquí, con H2 y el log SQL activo, ~280 ops/s): detecta una regresión grosera,
+    // como volver a serializar todas las salas, no variaciones de rendimiento
+    private static final double MIN_OPS_PER_SECOND = 50;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private List<Room> rooms = List.of();
+    private List<User> users = List.of();
+
+    @AfterEach
+    void cleanUp() {
+        rooms.forEach(room -> reservationRepository.deleteAllInBatch(
+                reservationRepository.findByRoomIdOrderByStartTimeDesc(room.getId())));
+        roomRepository.deleteAllInBatch(rooms);
+        userRepository.deleteAllInBatch(users);
+        if (admin != null) {
+            userRepository.delete(admin);
+        }
+    }
+
+    @Test
+    void concurrentOverlappingRequestsNeverDoubleBook(TestReporter reporter) throws Exception {
+        admin = userRepository.save(User.builder()
+                .username("stress-admin")
+                .email("stress-admin@example.com")
+                .password("x")
+                .role(Role.ADMIN)
+                .build());
+
+        rooms = IntStream.range(0, ROOMS)
+                .mapToObj(i -> roomRepository.save(Room.builder()
+                        .name("Sala stress " + i)
+                        .capacity(10)
+                        .active(true)
+                        .createdAt(LocalDateTime.now())
+                        .createdBy(admin)
+                        .build()))
+                .toList();
+
+        // Un usuario distinto por solicitud para que solo compitan por la sala
+        users = userRepository.saveAll(IntStream.range(0, REQUESTS)
+                .mapToObj(i -> User.builder()
+                        .username("stress-" + i)
+                        .email("stress-" + i + "@example.com")
+                        .password("x")
+                        .role(Role.USER)
+                        .build())
+                .toList());
+
+        // Cada par (sala, franja) recibe ~REQUESTS / (ROOMS * SLOTS) solicitudes idénticas que compiten entre sí
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(9, 0);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            Long roomId = rooms.get(i % ROOMS).getId();
+            LocalDateTime startTime = base.plusHours((i / ROOMS) % SLOTS);
+            UserDetailsImpl principal = new UserDetailsImpl(users.get(i));
+            ReservationRequestDTO dto = new ReservationRequestDTO(startTime, startTime.plusMinutes(45), roomId, "stress");
+
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    reservationService.create(dto, principal);
+                    accepted.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        pool.shutdown();
+
+        // Aceptadas y rechazadas cuentan igual: cada una toma el bloqueo de la sala y consulta conflictos
+        double opsPerSecond = REQUESTS * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        reporter.publishEntry("elapsed-ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+        reporter.publishEntry("ops-per-second", String.format(Locale.ROOT, "%.0f", opsPerSecond));
+
+        // Exactamente una reserva por franja y sala: las consecutivas no chocan y las repetidas se rechazan
+        assertEquals(ROOMS * SLOTS, accepted.get());
+        assertEquals(REQUESTS - ROOMS * SLOTS, rejected.get());
+        assertTrue(opsPerSecond >= MIN_OPS_PER_SECOND,
+                String.format(Locale.ROOT, "%.0f ops/s, mínimo %.0f", opsPerSecond, MIN_OPS_PER_SECOND));
+
+        for (Room room : rooms) {
+            List<Reservation> active = reservationRepository
+                    .findByRoomIdAndStatusAndEndTimeAfter(room.getId(), ReservationStatus.ACTIVE, base.minusDays(1))
+                    .stream()
+                    .sorted(Comparator.comparing(Reservation::getStartTime))
+                    .toList();
+
+            assertEquals(SLOTS, active.size());
+            for (int i = 1; i < active.size(); i++) {
+                Reservation previous = active.get(i - 1);
+                Reservation next = active.get(i);
+                assertFalse(previous.getEndTime().isAfter(next.getStartTime()),
+                        "Doble reserva en la sala " + room.getId() + ": " + previous.getId() + " y " + next.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.kruger.kevaluacion.service;
+
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.UserDetailsImpl;
+import com.kruger.kevaluacion.service.interfaces.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica con las estadísticas de Hibernate que los listados de reservas
+ * ejecutan un número fijo de sentencias SQL, sin importar cuántas filas devuelvan.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jobs.reservation-completion.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ReservationQueryCountTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Compartido entre pruebas: JUnit crea una instancia por prueba y los nombres de usuario son únicos
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private Statistics statistics;
+    private User admin;
+    private final List<Reservation> reservations = new ArrayList<>();
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        admin = userRepository.findByUsername("stats-admin").orElseGet(() -> userRepository.save(User.builder()
+                .username("stats-admin")
+                .email("stats-admin@example.com")
+                .password("x")
+                .role(Role.ADMIN)
+                .build()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reservationRepository.deleteAllInBatch(reservations);
+        roomRepository.deleteAllInBatch(rooms);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void adminListingUsesConstantNumberOfStatements() {
+        UserDetailsImpl principal = new UserDetailsImpl(admin);
+
+        createReservations(5, admin);
+        long small = countStatements(() -> reservationService.findAll(principal));
+
+        createReservations(50, admin);
+        long large = countStatements(() -> reservationService.findAll(principal));
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void userListingUsesConstantNumberOfStatements() {
+        User owner = userRepository.save(User.builder()
+                .username("stats-owner")
+                .email("stats-owner@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        users.add(owner);
+        UserDetailsImpl principal = new UserDetailsImpl(owner);
+
+        createReservations(5, owner);
+        long small = countStatements(() -> reservationService.findByUser(principal));
+
+        createReservations(50, owner);
+        long large = countStatements(() -> reservationService.findByUser(principal));
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    private long countStatements(Runnable listing) {
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Cada reserva usa una sala distinta creada por un usuario distinto para que un N+1 sea visible
+    private void createReservations(int count, User owner) {
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(9, 0);
+        for (int i = 0; i < count; i++) {
+            int n = SEQUENCE.getAndIncrement();
+            User creator = userRepository.save(User.builder()
+                    .username("stats-creator-" + n)
+                    .email("stats-creator-" + n + "@example.com")
+                    .password("x")
+                    .role(Role.ADMIN)
+                    .build());
+            users.add(creator);
+            Room room = roomRepository.save(Room.builder()
+                    .name("Sala stats " + n)
+                    .capacity(6)
+                    .active(true)
+                    .createdAt(LocalDateTime.now())
+                    .createdBy(creator)
+                    .build());
+            rooms.add(room);
+            reservations.add(reservationRepository.save(Reservation.builder()
+                    .startTime(base.plusDays(n))
+                    .endTime(base.plusDays(n).plusHours(1))
+                    .purpose("stats")
+                    .status(ReservationStatus.ACTIVE)
+                    .createdAt(LocalDateTime.now())
+                    .room(room)
+                    .user(owner)
+                    .build()));
+        }
+    }
+}
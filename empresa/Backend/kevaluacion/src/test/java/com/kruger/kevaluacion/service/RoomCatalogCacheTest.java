@@ -0,0 +1,70 @@
+package com.kruger.kevaluacion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kruger.kevaluacion.cache.InMemoryCacheInvalidationChannel;
+import com.kruger.kevaluacion.dto.room.RoomCatalogDTO;
+import com.kruger.kevaluacion.dto.room.RoomResponseDTO;
+import com.kruger.kevaluacion.event.RoomChangedEvent;
+import com.kruger.kevaluacion.service.impl.RoomCatalogCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Dos instancias de la caché comparten un canal en memoria, como dos nodos con un canal real.
+ */
+class RoomCatalogCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final InMemoryCacheInvalidationChannel channel = new InMemoryCacheInvalidationChannel();
+    private final RoomCatalogCache nodeA = new RoomCatalogCache(channel, objectMapper);
+    private final RoomCatalogCache nodeB = new RoomCatalogCache(channel, objectMapper);
+
+    private final AtomicReference<List<RoomResponseDTO>> database = new AtomicReference<>(List.of(room(1L, "Sala A")));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesTheSameSnapshotUntilInvalidated() {
+        RoomCatalogDTO first = nodeA.get(this::load);
+        assertSame(first, nodeA.get(this::load));
+        assertEquals(1, loads.get());
+
+        // Mismos datos en otra instancia: mismo ETag
+        assertEquals(first.etag(), nodeB.get(this::load).etag());
+    }
+
+    @Test
+    void writeOnOneNodeInvalidatesAll() {
+        RoomCatalogDTO beforeA = nodeA.get(this::load);
+        RoomCatalogDTO beforeB = nodeB.get(this::load);
+
+        database.set(List.of(room(1L, "Sala A renovada")));
+        nodeA.onRoomChanged(new RoomChangedEvent(1L, true));
+
+        RoomCatalogDTO reloadedA = nodeA.get(this::load);
+        RoomCatalogDTO reloadedB = nodeB.get(this::load);
+        assertNotSame(beforeA, reloadedA);
+        assertNotSame(beforeB, reloadedB);
+        assertNotEquals(beforeA.etag(), reloadedA.etag());
+        assertEquals(reloadedA.etag(), reloadedB.etag());
+        assertEquals("Sala A renovada", reloadedB.byId().get(1L).name());
+    }
+
+    private List<RoomResponseDTO> load() {
+        loads.incrementAndGet();
+        return database.get();
+    }
+
+    private static RoomResponseDTO room(Long id, String name) {
+        return new RoomResponseDTO(id, name, null, 8, "Piso 1", "Proyector", true,
+                LocalDateTime.of(2024, 1, 1, 9, 0), "admin");
+    }
+}
@@ -0,0 +1,125 @@
+package com.kruger.kevaluacion.service;
+
+import com.kruger.kevaluacion.dto.room.RoomFreeBusyDTO;
+import com.kruger.kevaluacion.entity.Reservation;
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.service.interfaces.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mapa de bits de ocupación (GET /rooms/{id}/freebusy): posiciones de los bits, regla de conflicto
+ * inclusiva, límites de la grilla y codificación Base64 little-endian sin bytes finales en cero.
+ */
+@SpringBootTest(properties = "app.jobs.reservation-completion.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class RoomFreeBusyTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    // 8:00 - 18:00 en franjas de 30 minutos
+    private static final int GRANULARITY = 30;
+    private static final int SLOTS_PER_DAY = 20;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("freebusy-owner")
+                .email("freebusy-owner@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        room = roomRepository.save(Room.builder()
+                .name("Sala freebusy")
+                .capacity(6)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .createdBy(owner)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reservationRepository.deleteAllInBatch();
+        roomRepository.delete(room);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void marksSlotsWithTheReservationConflictRule() {
+        reserve(DAY.atTime(8, 0), DAY.atTime(9, 0), ReservationStatus.ACTIVE);
+        // Termina al cierre: ocupa las dos últimas franjas y, por la regla inclusiva, la anterior
+        reserve(DAY.atTime(17, 0), DAY.atTime(18, 0), ReservationStatus.ACTIVE);
+        reserve(DAY.atTime(12, 0), DAY.atTime(13, 0), ReservationStatus.CANCELLED);
+        reserve(DAY.plusDays(1).atTime(10, 15), DAY.plusDays(1).atTime(10, 45), ReservationStatus.ACTIVE);
+
+        RoomFreeBusyDTO freeBusy = roomService.findFreeBusy(room.getId(), DAY, DAY.plusDays(1), GRANULARITY);
+
+        assertEquals(LocalTime.of(8, 0), freeBusy.dayStart());
+        assertEquals(SLOTS_PER_DAY, freeBusy.slotsPerDay());
+        BitSet expected = new BitSet();
+        expected.set(0, 2);   // 8:00 - 9:00
+        expected.set(17, 20); // 16:30 - 18:00
+        expected.set(SLOTS_PER_DAY + 4, SLOTS_PER_DAY + 6); // segundo día, 10:00 - 11:00
+        assertEquals(expected, decode(freeBusy.busy()));
+    }
+
+    @Test
+    void encodesLittleEndianWithoutTrailingZeroBytes() {
+        // Franja 9 (12:30 - 13:00): byte 1, bit 1
+        reserve(DAY.atTime(12, 45), DAY.atTime(13, 0), ReservationStatus.ACTIVE);
+
+        RoomFreeBusyDTO freeBusy = roomService.findFreeBusy(room.getId(), DAY, DAY.plusDays(6), GRANULARITY);
+
+        assertEquals(Base64.getEncoder().encodeToString(new byte[]{0, 0b10}), freeBusy.busy());
+        assertEquals("", roomService.findFreeBusy(room.getId(), DAY.plusDays(1), DAY.plusDays(6), GRANULARITY).busy());
+    }
+
+    private void reserve(LocalDateTime start, LocalDateTime end, ReservationStatus status) {
+        reservationRepository.save(Reservation.builder()
+                .startTime(start)
+                .endTime(end)
+                .purpose("freebusy")
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .room(room)
+                .user(owner)
+                .build());
+    }
+
+    private static BitSet decode(String busy) {
+        return BitSet.valueOf(Base64.getDecoder().decode(busy));
+    }
+}
@@ -0,0 +1,78 @@
+package com.kruger.kevaluacion.service;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.UserDetailsImpl;
+import com.kruger.kevaluacion.service.impl.UtilizationAggregate;
+import com.kruger.kevaluacion.service.interfaces.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * El agregado incremental (eventos de create/cancel) coincide con la reconstrucción desde la BD.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class UtilizationAggregateTest {
+
+    @Autowired
+    private UtilizationAggregate utilizationAggregate;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void incrementalUpdatesMatchRebuild() {
+        User owner = userRepository.save(User.builder()
+                .username("heatmap-owner")
+                .email("heatmap-owner@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        Room room = roomRepository.save(Room.builder()
+                .name("Sala heatmap")
+                .capacity(6)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .createdBy(owner)
+                .build());
+        UserDetailsImpl principal = new UserDetailsImpl(owner);
+
+        utilizationAggregate.rebuild();
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 15);
+        reservationService.create(
+                new ReservationRequestDTO(start, start.plusMinutes(45), room.getId(), "heatmap"), principal);
+        ReservationResponseDTO cancelled = reservationService.create(
+                new ReservationRequestDTO(start.plusHours(2), start.plusHours(3), room.getId(), "heatmap"), principal);
+        reservationService.cancel(cancelled.id(), principal);
+
+        long[] incremental = utilizationAggregate.snapshot(room.getId()).orElseThrow();
+        int day = (start.getDayOfWeek().getValue() - 1) * UtilizationAggregate.SLOTS_PER_DAY;
+        assertEquals(15, incremental[day + 18]); // 09:00-09:30
+        assertEquals(30, incremental[day + 19]); // 09:30-10:00
+        assertEquals(0, incremental[day + 22]);  // 11:00-11:30, cancelada
+
+        utilizationAggregate.rebuild();
+        assertArrayEquals(incremental, utilizationAggregate.snapshot(room.getId()).orElseThrow());
+    }
+}
@@ -0,0 +1,32 @@
+package com.kruger.kevaluacion.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La validación de reservas acepta exactamente lo que cubre la grilla de franjas (8:00 - 18:00).
+ */
+class BusinessHoursTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+    @Test
+    void acceptsTheWholeGrid() {
+        assertTrue(BusinessHours.contains(DAY.plusHours(8), DAY.plusHours(18)));
+    }
+
+    @Test
+    void rejectsEndsAfterClosing() {
+        assertFalse(BusinessHours.contains(DAY.plusHours(17).plusMinutes(30), DAY.plusHours(18).plusMinutes(30)));
+        assertFalse(BusinessHours.contains(DAY.plusHours(17), DAY.plusHours(18).plusMinutes(1)));
+    }
+
+    @Test
+    void rejectsStartsBeforeOpening() {
+        assertFalse(BusinessHours.contains(DAY.plusHours(7).plusMinutes(59), DAY.plusHours(9)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.dto.reservation.ReservationRequestDTO;
+import com.kruger.kevaluacion.dto.reservation.ReservationResponseDTO;
+import com.kruger.kevaluacion.entity.Role;
+import com.kruger.kevaluacion.entity.Room;
+import com.kruger.kevaluacion.entity.User;
+import com.kruger.kevaluacion.repository.ReservationRepository;
+import com.kruger.kevaluacion.repository.RoomRepository;
+import com.kruger.kevaluacion.repository.UserRepository;
+import com.kruger.kevaluacion.security.UserDetailsImpl;
+import com.kruger.kevaluacion.service.interfaces.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El índice de otro nodo (una segunda instancia) no ve los cambios en memoria de este, solo la
+ * versión de la sala: debe detectar que su copia quedó atrás y recargarla.
+ */
+@SpringBootTest(properties = "app.jobs.reservation-completion.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class RoomAvailabilityIndexTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("index-owner")
+                .email("index-owner@example.com")
+                .password("x")
+                .role(Role.USER)
+                .build());
+        room = roomRepository.save(Room.builder()
+                .name("Sala índice")
+                .capacity(4)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .createdBy(owner)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reservationRepository.deleteAllInBatch(reservationRepository.findAll().stream()
+                .filter(r -> r.getRoom().getId().equals(room.getId()))
+                .toList());
+        roomRepository.deleteById(room.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void otherNodeSeesChangesMadeHere() {
+        RoomAvailabilityIndex otherNode = new RoomAvailabilityIndex(reservationRepository);
+        UserDetailsImpl principal = new UserDetailsImpl(owner);
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+        LocalDateTime end = start.plusHours(1);
+        ReservationRequestDTO request = new ReservationRequestDTO(start, end, room.getId(), "índice");
+
+        ReservationResponseDTO created = reservationService.create(request, principal);
+        assertTrue(hasConflict(otherNode, start, end));
+
+        reservationService.cancel(created.id(), principal);
+        assertFalse(hasConflict(otherNode, start, end));
+
+        // Y este nodo, con su copia actualizada tras el commit, sigue rechazando el solape
+        reservationService.create(request, principal);
+        RuntimeException conflict = assertThrows(RuntimeException.class,
+                () -> reservationService.create(request, principal));
+        assertEquals("La sala no está disponible en el horario solicitado", conflict.getMessage());
+        assertTrue(hasConflict(otherNode, start.plusMinutes(30), end.plusMinutes(30)));
+    }
+
+    private boolean hasConflict(RoomAvailabilityIndex index, LocalDateTime start, LocalDateTime end) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Room locked = roomRepository.findByIdForUpdate(room.getId()).orElseThrow();
+            return index.hasConflict(locked, start, end);
+        });
+    }
+}
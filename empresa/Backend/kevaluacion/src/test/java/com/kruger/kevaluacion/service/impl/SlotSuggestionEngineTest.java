@@ -0,0 +1,105 @@
+package com.kruger.kevaluacion.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotSuggestionEngineTest {
+
+    // Lunes
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+
+    @Test
+    void mergesRoomsByEarliestStart() {
+        List<SlotSuggestionEngine.RoomBusy> rooms = List.of(
+                new SlotSuggestionEngine.RoomBusy(1L, List.of(slot(9, 0, 10, 0))),
+                new SlotSuggestionEngine.RoomBusy(2L, List.of()));
+
+        List<SlotSuggestionEngine.Suggestion> suggestions = SlotSuggestionEngine.suggest(
+                rooms, List.of(), ONE_HOUR, MONDAY.plusHours(9), MONDAY.plusHours(18), 3);
+
+        assertEquals(List.of(
+                new SlotSuggestionEngine.Suggestion(2L, MONDAY.plusHours(9), MONDAY.plusHours(10)),
+                new SlotSuggestionEngine.Suggestion(1L, MONDAY.plusHours(10), MONDAY.plusHours(11)),
+                new SlotSuggestionEngine.Suggestion(2L, MONDAY.plusHours(10), MONDAY.plusHours(11))), suggestions);
+    }
+
+    @Test
+    void endingWhenTheNextReservationStartsIsAConflict() {
+        List<SlotSuggestionEngine.RoomBusy> rooms = List.of(
+                new SlotSuggestionEngine.RoomBusy(1L, List.of(slot(10, 0, 11, 0))));
+
+        List<SlotSuggestionEngine.Suggestion> suggestions = SlotSuggestionEngine.suggest(
+                rooms, List.of(), ONE_HOUR, MONDAY.plusHours(9), MONDAY.plusHours(18), 1);
+
+        assertEquals(MONDAY.plusHours(11), suggestions.get(0).startTime());
+    }
+
+    @Test
+    void respectsBusinessHoursAndUserReservations() {
+        List<SlotSuggestionEngine.RoomBusy> rooms = List.of(
+                new SlotSuggestionEngine.RoomBusy(1L, List.of()),
+                new SlotSuggestionEngine.RoomBusy(2L, List.of()));
+        List<TimeSlot> userBusy = List.of(new TimeSlot(MONDAY.plusDays(1).plusHours(8), MONDAY.plusDays(1).plusHours(9)));
+
+        List<SlotSuggestionEngine.Suggestion> suggestions = SlotSuggestionEngine.suggest(
+                rooms, userBusy, ONE_HOUR, MONDAY.plusHours(17).plusMinutes(10), MONDAY.plusDays(1).plusHours(12), 2);
+
+        // 17:15 + 1h termina después del cierre; el martes de 8:00 a 9:00 el usuario ya tiene reserva
+        assertEquals(MONDAY.plusDays(1).plusHours(9), suggestions.get(0).startTime());
+        assertEquals(1L, suggestions.get(0).roomId());
+        assertEquals(2L, suggestions.get(1).roomId());
+    }
+
+    @Test
+    void fiveHundredBusyRoomsOverTwoWeeks() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<SlotSuggestionEngine.RoomBusy> rooms = new ArrayList<>();
+        for (long roomId = 1; roomId <= 500; roomId++) {
+            List<TimeSlot> busy = new ArrayList<>();
+            for (int day = 0; day < 14; day++) {
+                // Salas casi llenas: reservas de 1h seguidas de huecos de 0 a 45 minutos
+                LocalDateTime cursor = MONDAY.plusDays(day).plusHours(8);
+                while (cursor.getHour() < 17) {
+                    LocalDateTime end = cursor.plusHours(1);
+                    busy.add(new TimeSlot(cursor, end));
+                    cursor = end.plusMinutes(15L * random.nextInt(4));
+                }
+            }
+            rooms.add(new SlotSuggestionEngine.RoomBusy(roomId, busy));
+        }
+        Map<Long, List<TimeSlot>> busyByRoom = rooms.stream()
+                .collect(Collectors.toMap(SlotSuggestionEngine.RoomBusy::roomId, SlotSuggestionEngine.RoomBusy::busy));
+        Duration duration = Duration.ofMinutes(30);
+
+        List<SlotSuggestionEngine.Suggestion> suggestions = SlotSuggestionEngine.suggest(
+                rooms, List.of(), duration, MONDAY, MONDAY.plusDays(14), 20);
+
+        assertEquals(20, suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            SlotSuggestionEngine.Suggestion suggestion = suggestions.get(i);
+            assertTrue(BusinessHours.contains(suggestion.startTime(), suggestion.endTime()));
+            assertFalse(TimeSlot.anyConflict(busyByRoom.get(suggestion.roomId()),
+                    suggestion.startTime(), suggestion.endTime()));
+            if (i > 0) {
+                assertFalse(suggestion.startTime().isBefore(suggestions.get(i - 1).startTime()));
+            }
+        }
+    }
+
+    private static TimeSlot slot(int startHour, int startMinute, int endHour, int endMinute) {
+        return new TimeSlot(MONDAY.plusHours(startHour).plusMinutes(startMinute),
+                MONDAY.plusHours(endHour).plusMinutes(endMinute));
+    }
+}
@@ -0,0 +1,72 @@
+package com.kruger.kevaluacion.service.impl;
+
+import com.kruger.kevaluacion.entity.ReservationStatus;
+import com.kruger.kevaluacion.event.ReservationChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Una sala que cambia en cada lectura de la reconstrucción no se instala: se cuenta y se relee en la siguiente consulta.
+ */
+class UtilizationAggregateInstallTest {
+
+    private static final Long ROOM_ID = 1L;
+    // Lunes 9:00-10:00
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 9, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+
+    @Test
+    void roomChangedDuringEveryAttemptIsCountedAndReloadedLater() throws Exception {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        JdbcTemplate plainJdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getJdbcTemplate()).thenReturn(plainJdbcTemplate);
+        when(plainJdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(ROOM_ID));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UtilizationAggregate aggregate = new UtilizationAggregate(jdbcTemplate, registry, 1);
+
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(ROOM_ID);
+        when(row.getTimestamp(2)).thenReturn(Timestamp.valueOf(START));
+        when(row.getTimestamp(3)).thenReturn(Timestamp.valueOf(END));
+
+        // Las tres primeras lecturas coinciden con una reserva confirmada en la misma sala
+        AtomicInteger concurrentWrites = new AtomicInteger(3);
+        doAnswer(invocation -> {
+            invocation.getArgument(2, RowCallbackHandler.class).processRow(row);
+            if (concurrentWrites.getAndDecrement() > 0) {
+                aggregate.onReservationChanged(new ReservationChangedEvent(
+                        99L, ROOM_ID, START, END, ReservationStatus.ACTIVE));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+
+        aggregate.rebuild();
+        assertEquals(1.0, registry.get("analytics.utilization.install.skipped").counter().count());
+
+        long[] minutes = aggregate.snapshot(ROOM_ID).orElseThrow();
+        int nine = 9 * 60 / UtilizationAggregate.SLOT_MINUTES;
+        assertEquals(30, minutes[nine]);
+        assertEquals(30, minutes[nine + 1]);
+        assertEquals(60, Arrays.stream(minutes).sum());
+    }
+}
@@ -4,6 +4,7 @@ import { LoginInput, RegisterInput, User } from '@/shared/store/auth/types';
 export interface AuthResponse {
   user: User;
   token: string;
+  refreshToken: string;
 }
 
 // Respuesta real del backend
@@ -11,6 +12,7 @@ interface BackendAuthResponse {
   token: string;
   username: string;
   role: 'USER' | 'ADMIN';
+  refreshToken: string;
   id?: number;
   email?: string;
 }
@@ -32,10 +34,24 @@ export class AuthService {
         email: data.email || `${data.username}@example.com`, // Email por defecto si no existe
         role: data.role
       },
-      token: data.token
+      token: data.token,
+      refreshToken: data.refreshToken
     };
   }
 
+  // El token de acceso dura 15 minutos: se renueva con el refresh token (de un solo uso)
+  static async refresh(refreshToken: string): Promise<{ token: string; refreshToken: string }> {
+    const { data } = await httpClient.post<BackendAuthResponse>(
+      `${this.BASE_PATH}/refresh`,
+      { refreshToken }
+    );
+    return { token: data.token, refreshToken: data.refreshToken };
+  }
+
+  static async logout(refreshToken: string): Promise<void> {
+    await httpClient.post(`${this.BASE_PATH}/logout`, { refreshToken });
+  }
+
   static async register(userData: RegisterInput): Promise<AuthResponse> {
     const { data } = await httpClient.post<BackendAuthResponse>(
       `${this.BASE_PATH}/register`,
@@ -50,7 +66,8 @@ export class AuthService {
         email: data.email || `${data.username}@example.com`,
         role: data.role
       },
-      token: data.token
+      token: data.token,
+      refreshToken: data.refreshToken
     };
   }
 }
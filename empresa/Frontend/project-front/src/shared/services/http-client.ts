@@ -24,10 +24,47 @@ httpClient.interceptors.request.use((config) => {
   return config;
 });
 
+// Renovación en curso, compartida por las peticiones que reciban 401 a la vez
+let refreshing: Promise<string | null> | null = null;
+
+const refreshAccessToken = (): Promise<string | null> => {
+  const { refreshToken, setTokens, logout } = useAuthStore.getState();
+  if (!refreshToken) {
+    return Promise.resolve(null);
+  }
+  if (!refreshing) {
+    refreshing = axios
+      .post(`${process.env.NEXT_PUBLIC_API_URL}/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        setTokens(data.token, data.refreshToken);
+        return data.token as string;
+      })
+      .catch(() => {
+        logout();
+        return null;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
 // Interceptor de respuesta para manejar errores
 httpClient.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    // Token de acceso expirado: se renueva una vez y se repite la petición
+    const original = error.config;
+    if (error.response?.status === 401 && original && !original._retried && !original.url?.startsWith('/auth/')) {
+      original._retried = true;
+      const token = await refreshAccessToken();
+      if (token) {
+        original.headers.Authorization = `Bearer ${token}`;
+        return httpClient(original);
+      }
+    }
+
     if (error.response?.data) {
       const errorData = error.response.data;
       
@@ -1,5 +1,5 @@
 import { httpClient } from '../http-client';
-import { Room, CreateRoomInput, UpdateRoomInput } from './types';
+import { Room, CreateRoomInput, UpdateRoomInput, RoomFreeBusy } from './types';
 
 export class RoomService {
   private static readonly BASE_PATH = '/rooms';
@@ -21,6 +21,28 @@ export class RoomService {
     return data;
   }
 
+  static async getFreeBusy(id: number, from: string, to: string, granularity = 30): Promise<RoomFreeBusy> {
+    const { data } = await httpClient.get<RoomFreeBusy>(`${this.BASE_PATH}/${id}/freebusy`, {
+      params: { from, to, granularity }
+    });
+    return data;
+  }
+
+  static async getFreeBusyForRooms(roomIds: number[], from: string, to: string, granularity = 30): Promise<RoomFreeBusy[]> {
+    const { data } = await httpClient.get<RoomFreeBusy[]>(`${this.BASE_PATH}/freebusy`, {
+      params: { roomIds: roomIds.join(','), from, to, granularity }
+    });
+    return data;
+  }
+
+  /** Indica si la franja `slot` del día `dayIndex` (0 = from) está ocupada */
+  static isSlotBusy(freeBusy: RoomFreeBusy, dayIndex: number, slot: number): boolean {
+    const bit = dayIndex * freeBusy.slotsPerDay + slot;
+    const bytes = atob(freeBusy.busy);
+    const byteIndex = Math.floor(bit / 8);
+    return byteIndex < bytes.length && ((bytes.charCodeAt(byteIndex) >> (bit % 8)) & 1) === 1;
+  }
+
   static async create(roomData: CreateRoomInput): Promise<Room> {
     const { data } = await httpClient.post<Room>(this.BASE_PATH, roomData);
     return data;
@@ -26,4 +26,15 @@ export interface UpdateRoomInput {
   location?: string;
   equipment?: string;
   active?: boolean;
-}
\ No newline at end of file
+}
+
+export interface RoomFreeBusy {
+  roomId: number;
+  from: string;
+  to: string;
+  dayStart: string;
+  granularityMinutes: number;
+  slotsPerDay: number;
+  /** Base64, bit i = franja i (little-endian); los bytes finales en cero se omiten */
+  busy: string;
+}
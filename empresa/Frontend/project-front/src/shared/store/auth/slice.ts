@@ -7,6 +7,7 @@ import { toast } from 'sonner'
 interface AuthState {
   user: User | null
   tokens: string | null
+  refreshToken: string | null
   isAuthenticated: boolean
   isLoading: boolean
   error: string | null
@@ -14,14 +15,15 @@ interface AuthState {
   login: (credentials: LoginInput) => Promise<void>
   logout: () => void
   setUser: (user: User | null) => void
-  setTokens: (tokens: string | null) => void
+  setTokens: (tokens: string | null, refreshToken?: string | null) => void
 }
 
 export const useAuthStore = create<AuthState>()(
   persist(
-    (set) => ({
+    (set, get) => ({
       user: null,
       tokens: null,
+      refreshToken: null,
       isAuthenticated: false,
       isLoading: false,
       error: null,
@@ -30,8 +32,8 @@ export const useAuthStore = create<AuthState>()(
         set({ user, isAuthenticated: !!user })
       },
 
-      setTokens: (tokens) => {
-        set({ tokens })
+      setTokens: (tokens, refreshToken) => {
+        set(refreshToken === undefined ? { tokens } : { tokens, refreshToken })
       },
 
       register: async (data) => {
@@ -41,6 +43,7 @@ export const useAuthStore = create<AuthState>()(
           set({ 
             user: response.user,
             tokens: response.token,
+            refreshToken: response.refreshToken,
             isAuthenticated: true,
             isLoading: false 
           })
@@ -69,6 +72,7 @@ export const useAuthStore = create<AuthState>()(
           set({ 
             user: response.user,
             tokens: response.token,
+            refreshToken: response.refreshToken,
             isAuthenticated: true,
             isLoading: false 
           })
@@ -93,11 +97,18 @@ export const useAuthStore = create<AuthState>()(
 
       logout: () => {
         console.log('🚪 Logging out and clearing localStorage...');
+
+        // Revoca la sesión en el backend sin esperar la respuesta
+        const { refreshToken } = get()
+        if (refreshToken) {
+          AuthService.logout(refreshToken).catch(() => undefined)
+        }
         
         // Limpiar el estado de Zustand
         set({ 
           user: null,
           tokens: null,
+          refreshToken: null,
           isAuthenticated: false,
           isLoading: false,
           error: null
@@ -119,6 +130,7 @@ export const useAuthStore = create<AuthState>()(
       partialize: (state) => ({ 
         user: state.user,
         tokens: state.tokens,
+        refreshToken: state.refreshToken,
         isAuthenticated: state.isAuthenticated
       }) // solo guardamos estos campos
     }